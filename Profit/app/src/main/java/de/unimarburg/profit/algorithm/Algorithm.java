@@ -1,5 +1,6 @@
 package de.unimarburg.profit.algorithm;
 
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.MovableObject;
 import de.unimarburg.profit.model.Product;
@@ -23,4 +24,18 @@ public interface Algorithm {
    */
   Collection<MovableObject> runAlgorithm(Field field, int time, int turns,
       Collection<Product> products);
+
+  /**
+   * Starts the algorithm, that searches until the given {@link Deadline} expires. Cancelling the
+   * {@link Deadline} stops the search within milliseconds and returns the best solution found so
+   * far.
+   *
+   * @param field    Field
+   * @param deadline {@link Deadline}, after which the algorithm stops searching.
+   * @param turns    Turns, that the {@link Field} will be simulated.
+   * @param products {@link Product}s, that exist in this instance of the problem.
+   * @return Collection of {@link MovableObject}s, that should be placed for the best solution.
+   */
+  Collection<MovableObject> runAlgorithm(Field field, Deadline deadline, int turns,
+      Collection<Product> products);
 }
@@ -12,7 +12,8 @@ import de.unimarburg.profit.algorithm.mineplacing.MinePlaceChooser;
 import de.unimarburg.profit.algorithm.mineplacing.MinePlaceFinder;
 import de.unimarburg.profit.algorithm.mineplacing.MinePlacer;
 import de.unimarburg.profit.algorithm.mineplacing.MineWithResources;
-import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.concurrent.Deadline;
+import de.unimarburg.profit.concurrent.TaskScheduler;
 import de.unimarburg.profit.model.Deposit;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Field;
@@ -20,27 +21,21 @@ import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.MovableObject;
 import de.unimarburg.profit.model.Product;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
-import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
-import de.unimarburg.profit.simulation.SimulateException;
+import de.unimarburg.profit.simulation.ScoreCache;
 import de.unimarburg.profit.simulation.Simulator;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.PriorityQueue;
 import java.util.Queue;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 /**
  * Implementation of the interface {@link Algorithm}.
@@ -51,7 +46,22 @@ public class AlgorithmImpl implements Algorithm {
 
   private static final int NUMBER_OF_FACTORY_PLACEMENT_TRIES = 10;
   private static final int MAX_NUMBER_OF_WAITING_FUTURES = 20;
+  /**
+   * Time in seconds before the time limit, at which the search stops, so there is time left to
+   * combine the solutions.
+   */
+  private static final int SECONDS_TO_BUILD_SOLUTION = 10;
+  /**
+   * Longest time in milliseconds, that is waited for the running tasks after the search stopped.
+   * The candidates, that are finished within this time, are still evaluated.
+   */
+  private static final long MAX_MILLIS_TO_FINISH_TASKS = 1000;
   private static final int MAX_PLACED_FACTORIES_TRIES = 100;
+  /**
+   * Largest number of solutions, that are kept to be combined in buildSolution.
+   */
+  private static final int SOLUTION_ARCHIVE_CAPACITY = 128;
+  private static final int SCORE_CACHE_CAPACITY = 1 << 14;
   private final MinePlaceFinder minePlaceFinder;
   private final MinePlaceChooser minePlaceChooser;
   private final MinePlacer minePlacer;
@@ -59,11 +69,9 @@ public class AlgorithmImpl implements Algorithm {
   private final FactoryChooser factoryChooser;
   private final FactoryPlacerImpl factoryPlacer;
   private final CombinationFinder combinationFinder;
+  // Different tries often end up with the same layout, which is then simulated only once.
+  private final ScoreCache scoreCache;
 
-  private final Map<String, Boolean> uuids;
-
-
-  private final Collection<CompletableFuture<Void>> futures;
   private final ExecutorService executorService;
 
   /**
@@ -87,9 +95,8 @@ public class AlgorithmImpl implements Algorithm {
     this.factoryChooser = factoryChooser;
     this.factoryPlacer = factoryPlacer;
     this.combinationFinder = combinationFinder;
+    this.scoreCache = new ScoreCache(SCORE_CACHE_CAPACITY);
 
-    uuids = new HashMap<>();
-    futures = new HashSet<>();
     executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
   }
 
@@ -106,39 +113,63 @@ public class AlgorithmImpl implements Algorithm {
   @Override
   public Collection<MovableObject> runAlgorithm(Field field, int time, int turns,
       Collection<Product> products) {
+    long searchTime = TimeUnit.SECONDS.toMillis(time - SECONDS_TO_BUILD_SOLUTION);
+    return runAlgorithm(field, Deadline.afterMillis(searchTime), turns, products);
+  }
 
-    Map<Integer, Field> solutions = new HashMap<>();
+  /**
+   * Starts the algorithm, that searches until the given {@link Deadline} expires. The
+   * {@link Deadline} is passed to every task, the MOEA runs, the {@link Connector} and the
+   * scheduler of the tasks, so the search stops within milliseconds, when it expires or is
+   * cancelled. Afterwards, the candidates of the tasks, that were running at the
+   * {@link Deadline}, are still simulated by the {@link Simulator}, but the algorithm waits at
+   * most {@link #MAX_MILLIS_TO_FINISH_TASKS} milliseconds for them, before it combines the
+   * solutions.
+   *
+   * @param field    Field
+   * @param deadline {@link Deadline}, after which the algorithm stops searching.
+   * @param turns    Turns, that the {@link Field} will be simulated.
+   * @param products {@link Product}s, that exist in this instance of the problem.
+   * @return Collection of {@link MovableObject}s, that should be placed for the best solution.
+   */
+  @Override
+  public Collection<MovableObject> runAlgorithm(Field field, Deadline deadline, int turns,
+      Collection<Product> products) {
 
-    String uuid = UUID.randomUUID().toString();
-    uuids.put(uuid, true);
-    CompletableFuture<Void> future = CompletableFuture.supplyAsync(() -> {
-      while (true) {
-        createAndAddNewSolutions(solutions, turns, field, products, uuid);
-        if (!uuids.get(uuid)) {
-          return null;
-        }
-      }
-    });
+    SolutionArchive solutions = new SolutionArchive(SOLUTION_ARCHIVE_CAPACITY);
+
+    // Computed once, before the field is copied, so all copies and threads share them.
+    field.getDistanceFields();
+    field.getConveyorGraph();
+    // Candidates, that are finished after the deadline, are still simulated, until the time to
+    // finish the tasks is up. So only the evaluations are started until this deadline.
+    Deadline evaluationDeadline = Deadline.never();
+    // The scheduler blocks this thread, while too many candidates are waiting for the executor,
+    // but at most until the deadline expires.
+    TaskScheduler scheduler = new TaskScheduler(executorService, MAX_NUMBER_OF_WAITING_FUTURES,
+        evaluationDeadline);
+    while (!deadline.isExpired()) {
+      createAndAddNewSolutions(solutions, turns, field, products, scheduler, deadline,
+          evaluationDeadline);
+    }
 
     try {
-      //The future will be canceled five seconds before the time limit.
-      future.get(time - 10, TimeUnit.SECONDS);
-    } catch (InterruptedException | TimeoutException | ExecutionException ignored) {
-      //Just ignore. These exceptions will be thrown, if the time ends.
+      // Tasks, that were running at the deadline, stop early and their candidates are evaluated.
+      scheduler.awaitIdle(MAX_MILLIS_TO_FINISH_TASKS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
-
-    uuids.put(uuid, false);
+    // Evaluations, that are still running, stop now.
+    evaluationDeadline.cancel();
 
     try {
       // Try to combine solutions.
       return buildSolution(solutions);
-    } catch (CouldNotPlaceObjectException | CouldNotRemoveObjectException e) {
+    } catch (CouldNotPlaceObjectException e) {
       // If an error occurred, just return best solution.
-      Optional<Integer> maxPoints = solutions.keySet().stream().max(Comparator.naturalOrder());
-      if (maxPoints.isPresent()) {
-        Integer bestPoints = maxPoints.get();
-        Field bestField = solutions.get(bestPoints);
-        return bestField.getMovableObjects();
+      Optional<Field> bestField = solutions.getBest();
+      if (bestField.isPresent()) {
+        return bestField.get().getMovableObjects();
       } else {
         return new LinkedList<>();
       }
@@ -148,129 +179,116 @@ public class AlgorithmImpl implements Algorithm {
   /**
    * Tries to combine all solutions into one. Only none-overlapping solutions can be combined.
    *
-   * @param solutions All solutions that have been found by the {@link Algorithm}.
+   * @param solutions The best solutions that have been found by the {@link Algorithm}.
    * @return All {@link MovableObject}s that are part of the best solution found.
    * @throws CouldNotPlaceObjectException If an object could not be placed on a {@link Field}.
-   * @throws CouldNotRemoveObjectException If an object could not be removed from a {@link Field}.
    */
-  private Collection<MovableObject> buildSolution(Map<Integer, Field> solutions)
-      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
-    // No solution found.
-    if (solutions.isEmpty()) {
-      return new LinkedList<>();
-    }
-
-    // Build the best possible solution.
-    Queue<Entry<Integer, Field>> solQueue = new PriorityQueue<>(
-        (e1, e2) -> e2.getKey() - e1.getKey());
-    solQueue.addAll(solutions.entrySet());
+  private Collection<MovableObject> buildSolution(SolutionArchive solutions)
+      throws CouldNotPlaceObjectException {
+    // Build the best possible solution. The archive only keeps solutions earning points.
+    Queue<Field> solQueue = new LinkedList<>(solutions.getSolutions());
     if (solQueue.isEmpty()) {
       return new LinkedList<>();
     }
-    var bestSingleSolution = solQueue.poll().getValue();
+    // The archived field stays unchanged, so it can still be returned if combining fails.
+    var bestSingleSolution = solQueue.poll().copy();
     LinkedList<MovableObject> perfectSolution = new LinkedList<>(
-        bestSingleSolution.getMovableObjects());
+        bestSingleSolution.getMovableObjectsView());
 
     while (!solQueue.isEmpty()) {
-      var nextBestSolution = solQueue.poll();
-      if (nextBestSolution.getKey() == 0) {
-        break;
-      }
-      var nextBestField = nextBestSolution.getValue();
-      var movableObjs = nextBestField.getMovableObjects();
+      var nextBestField = solQueue.poll();
+      var movableObjs = nextBestField.getMovableObjectsView();
       var addedMovableObjects = new LinkedList<MovableObject>();
+      int mark = bestSingleSolution.mark();
 
       for (MovableObject obj : movableObjs) {
-        if (bestSingleSolution.baseObjectCanBePlaced(obj)) {
-          bestSingleSolution.addBaseObject(obj);
-        } else {
-          for (var placedObjects : addedMovableObjects) {
-            bestSingleSolution.removeBaseObject(placedObjects);
-          }
+        if (!bestSingleSolution.baseObjectCanBePlaced(obj)) {
           addedMovableObjects.clear();
           break;
         }
 
+        bestSingleSolution.addBaseObject(obj);
         addedMovableObjects.add(obj);
       }
+
+      if (addedMovableObjects.isEmpty()) {
+        bestSingleSolution.rollbackTo(mark);
+      } else {
+        bestSingleSolution.commit(mark);
+      }
       perfectSolution.addAll(addedMovableObjects);
     }
 
     return perfectSolution;
   }
 
-  private void createAndAddNewSolutions(Map<Integer, Field> solutions, int turns, Field field,
-      Collection<Product> products, String uuid) {
+  private void createAndAddNewSolutions(SolutionArchive solutions, int turns, Field field,
+      Collection<Product> products, TaskScheduler scheduler, Deadline deadline,
+      Deadline evaluationDeadline) {
 
-    List<Map<Mine, Deposit>> placements = findMinePlacements(field);
+    List<Map<Mine, Deposit>> placements = findMinePlacements(field, deadline);
     for (Map<Mine, Deposit> placement : placements) {
+      //Checks if time is up
+      if (deadline.isExpired()) {
+        return;
+      }
+
       Field copy1 = field.copy();
 
       Collection<MineWithResources> minesWithResources = placeMines(copy1, placement);
 
+      List<CompletableFuture<Field>> candidates = new ArrayList<>();
       for (int i = 0; i < NUMBER_OF_FACTORY_PLACEMENT_TRIES; i++) {
-
-        waitHere();
-
-        //Checks if time is up
-        if (!uuids.get(uuid)) {
-          return;
-        }
-
-        Runnable runnable = () -> {
+        CompletableFuture<Field> candidate = scheduler.submit(() -> {
           Field copy2 = copy1.copy();
-          AlgorithmImpl.this.placeFactories(copy2, products, minesWithResources);
+          placeFactories(copy2, products, minesWithResources, deadline);
           minePlacer.removeUselessMines(copy2);
-          evaluateAndAddSolution(solutions, turns, copy2);
-        };
-
-        CompletableFuture<Void> future = CompletableFuture.runAsync(runnable, executorService);
-        futures.add(future);
-        future.whenComplete((unused, throwable) -> futures.remove(future));
+          return copy2;
+        }, deadline);
+        candidates.add(candidate.exceptionally(throwable -> null));
       }
 
+      // All tries for this placement are simulated together.
+      scheduler.submitAfter(candidates, () -> {
+        List<Field> fields = candidates.stream().map(CompletableFuture::join)
+            .filter(Objects::nonNull).toList();
+        evaluateAndAddSolutions(solutions, turns, fields, evaluationDeadline);
+      }, deadline);
     }
-
   }
 
-  private void waitHere() {
-    while (futures.size() > MAX_NUMBER_OF_WAITING_FUTURES) {
-      try {
-        CompletableFuture.anyOf(futures.toArray(new CompletableFuture[0])).get();
-      } catch (InterruptedException | ExecutionException | NullPointerException e) {
-        //Ignore
+  private void evaluateAndAddSolutions(SolutionArchive solutions, int turns,
+      List<Field> fields, Deadline deadline) {
+    // Fields, that cannot earn more points than the worst kept solution, are not simulated.
+    // Every evaluation runs in its own task already, so the batch is not simulated in parallel.
+    int[] points = scoreCache.simulateAll(fields, turns, solutions.getMinimumPoints(), deadline,
+        false);
+    for (int i = 0; i < points.length; i++) {
+      if (points[i] != Simulator.NOT_SIMULATED) {
+        solutions.offer(fields.get(i), points[i]);
       }
     }
   }
 
-  private static void evaluateAndAddSolution(Map<Integer, Field> solutions, int turns,
-      Field field) {
-    try {
-      int points = Simulator.getInstance().simulate(field, turns);
-      solutions.put(points, field);
-    } catch (SimulateException ignored) {
-      //Ignore. The Solution just won't be put in the map.
-    }
-  }
-
   private Collection<MineWithResources> placeMines(Field field, Map<Mine, Deposit> placement) {
     Map<Mine, Deposit> placedMines = minePlacer.placeMines(field, placement);
-    return minePlaceFinder.calcResourcesFromMines(placedMines);
+    return minePlaceFinder.calcResourcesFromMines(placedMines, field.getDistanceFields());
   }
 
-  private List<Map<Mine, Deposit>> findMinePlacements(Field field) {
+  private List<Map<Mine, Deposit>> findMinePlacements(Field field, Deadline deadline) {
     Map<Mine, Deposit> possibleMines = minePlaceFinder.calculatePossibleMines(field);
     Comparator<Map<Mine, Deposit>> comp = Comparator.comparingInt(mines -> -mines.size());
-    return minePlaceChooser.choosePlacements(field, possibleMines).stream().sorted(comp).toList();
+    return minePlaceChooser.choosePlacements(field, possibleMines, deadline).stream().sorted(comp)
+        .toList();
   }
 
   private void placeFactories(Field field, Collection<Product> products,
-      Collection<MineWithResources> minesWithResources) {
+      Collection<MineWithResources> minesWithResources, Deadline deadline) {
     Collection<Factory> factories = factoryPlaceFinder.calculatePossibleFactories(field);
 
     Optional<Factory> optionalFactory = factoryChooser.chooseFactory(field, factories);
     int i = 0;
-    while (optionalFactory.isPresent()) {
+    while (optionalFactory.isPresent() && !deadline.isExpired()) {
       i++;
       if (i > MAX_PLACED_FACTORIES_TRIES) {
         return;
@@ -279,35 +297,41 @@ public class AlgorithmImpl implements Algorithm {
       Factory factory = optionalFactory.get();
       factories.remove(factory);
 
+      int factoryMark = field.mark();
       boolean placed = factoryPlacer.placeFactory(field, factory);
       if (placed) {
 
-        Connector connector = new ConnectorImpl(field);
+        Connector connector = new ConnectorImpl(field, deadline);
         Collection<Mine> reachableMines = connector.getReachableMines(factory);
 
         Collection<TypeAndMinesCombination> combinations = combinationFinder.findCombinations(
-                reachableMines, minesWithResources, products, factory).stream()
+                reachableMines, minesWithResources, products, factory, deadline).stream()
             .sorted((o1, o2) -> -(int) (o1.getValue() - o2.getValue())).toList();
 
         boolean connectedAll = false;
-        Collection<Conveyor> beforeConveyors = field.getObjectsOfClass(Conveyor.class);
         for (TypeAndMinesCombination combination : combinations) {
 
+          int conveyorMark = field.mark();
           connectedAll = connector.connectMines(combination.getMines());
 
           if (connectedAll) {
+            field.commit(conveyorMark);
             factory.setProduct(combination.getProduct());
             i = 0;
             break;
           }
 
-          connector.removePlacedConveyers(field, beforeConveyors);
+          field.rollbackTo(conveyorMark);
         }
 
-        if (!connectedAll) {
-          factoryPlacer.removeFactory(field, factory);
+        if (connectedAll) {
+          field.commit(factoryMark);
+        } else {
+          field.rollbackTo(factoryMark);
         }
 
+      } else {
+        field.commit(factoryMark);
       }
 
       optionalFactory = factoryChooser.chooseFactory(field, factories);
@@ -0,0 +1,31 @@
+package de.unimarburg.profit.algorithm;
+
+import de.unimarburg.profit.concurrent.Deadline;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.TerminationCondition;
+
+/**
+ * {@link TerminationCondition}, that stops a run of the MOEA Framework, when a {@link Deadline}
+ * expires. The condition is checked after every step of the algorithm, so the run stops after the
+ * current generation instead of after its whole time or number of evaluations.
+ *
+ * @author Yannick Kraml
+ */
+public class DeadlineTermination implements TerminationCondition {
+
+  private final Deadline deadline;
+
+  public DeadlineTermination(Deadline deadline) {
+    this.deadline = deadline;
+  }
+
+  @Override
+  public void initialize(Algorithm algorithm) {
+    // Nothing to initialize, the deadline is already running.
+  }
+
+  @Override
+  public boolean shouldTerminate(Algorithm algorithm) {
+    return deadline.isExpired();
+  }
+}
@@ -0,0 +1,167 @@
+package de.unimarburg.profit.algorithm;
+
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.MovableObject;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps the best solutions found by the {@link Algorithm}, at most a fixed number of them. A new
+ * solution evicts the solution with the fewest points, if the archive is full. Solutions earning
+ * no points are never kept. It can be used by many threads at once.
+ *
+ * <p>To keep the solutions diverse, at most one solution per footprint is kept. The footprint of a
+ * solution are the blocks of 8x8 cells, that contain one of its {@link MovableObject}s. Solutions
+ * with the same footprint almost always overlap and can hardly be combined, so only the better one
+ * is kept and solutions in other parts of the {@link Field} are not crowded out.</p>
+ *
+ * <p>Once the archive is full, most solutions are worse than all kept ones. They are rejected by
+ * reading {@link #getMinimumPoints()} without taking the lock.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class SolutionArchive {
+
+  /**
+   * Width and height of the blocks of a footprint.
+   */
+  private static final int FOOTPRINT_BLOCK_SIZE = 8;
+
+  /**
+   * Ordered from the fewest to the most points. Solutions with the same points are ordered by
+   * their arrival, so they do not replace each other.
+   */
+  private static final Comparator<Entry> ORDER = Comparator
+      .comparingInt((Entry entry) -> entry.points).thenComparingLong(entry -> -entry.sequence);
+
+  private final int capacity;
+  private final TreeSet<Entry> entries;
+  private final Map<Long, Entry> footprints;
+  private long sequence;
+  private volatile int minimumPoints;
+
+  /**
+   * Constructor of {@link SolutionArchive}.
+   *
+   * @param capacity Largest number of solutions, that are kept.
+   */
+  public SolutionArchive(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The archive has to keep at least one solution.");
+    }
+    this.capacity = capacity;
+    this.entries = new TreeSet<>(ORDER);
+    this.footprints = new HashMap<>();
+  }
+
+  /**
+   * Returns the points, that a solution has to exceed to be kept. Solutions, whose upper bound is
+   * not higher, do not have to be simulated at all.
+   *
+   * @return 0 while the archive is not full, the points of the worst kept solution otherwise.
+   */
+  public int getMinimumPoints() {
+    return minimumPoints;
+  }
+
+  /**
+   * Offers a solution to the archive. The {@link Field} must not be changed afterwards.
+   *
+   * @param field  {@link Field} of the solution.
+   * @param points Points earned by the solution.
+   * @return True if the solution is kept. False otherwise.
+   */
+  public boolean offer(Field field, int points) {
+    if (points <= minimumPoints) {
+      return false;
+    }
+    long footprint = footprintOf(field);
+
+    synchronized (this) {
+      if (points <= minimumPoints) {
+        return false;
+      }
+      Entry sameFootprint = footprints.get(footprint);
+      if (sameFootprint != null) {
+        if (sameFootprint.points >= points) {
+          return false;
+        }
+        remove(sameFootprint);
+      } else if (entries.size() >= capacity) {
+        remove(entries.first());
+      }
+
+      Entry entry = new Entry(field, points, footprint, sequence++);
+      entries.add(entry);
+      footprints.put(footprint, entry);
+      minimumPoints = entries.size() >= capacity ? entries.first().points : 0;
+      return true;
+    }
+  }
+
+  /**
+   * Returns the kept solutions.
+   *
+   * @return {@link Field}s of the kept solutions, ordered from the most to the fewest points.
+   */
+  public synchronized List<Field> getSolutions() {
+    return entries.descendingSet().stream().map(entry -> entry.field).toList();
+  }
+
+  /**
+   * Returns the kept solution with the most points.
+   *
+   * @return {@link Field} of the best solution, empty if no solution is kept.
+   */
+  public synchronized Optional<Field> getBest() {
+    return entries.isEmpty() ? Optional.empty() : Optional.of(entries.last().field);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void remove(Entry entry) {
+    entries.remove(entry);
+    footprints.remove(entry.footprint);
+  }
+
+  private static long footprintOf(Field field) {
+    int blocksPerRow = (field.getWidth() + FOOTPRINT_BLOCK_SIZE - 1) / FOOTPRINT_BLOCK_SIZE;
+    BitSet blocks = new BitSet();
+    for (MovableObject object : field.getMovableObjectsView()) {
+      int x = Math.max(0, Math.min(field.getWidth() - 1, object.getX()));
+      int y = Math.max(0, Math.min(field.getHeight() - 1, object.getY()));
+      blocks.set(y / FOOTPRINT_BLOCK_SIZE * blocksPerRow + x / FOOTPRINT_BLOCK_SIZE);
+    }
+
+    long footprint = 1;
+    for (long word : blocks.toLongArray()) {
+      footprint = footprint * 0x9E3779B97F4A7C15L + word;
+    }
+    return footprint;
+  }
+
+  /**
+   * Solution kept by the archive.
+   */
+  private static final class Entry {
+
+    private final Field field;
+    private final int points;
+    private final long footprint;
+    private final long sequence;
+
+    private Entry(Field field, int points, long footprint, long sequence) {
+      this.field = field;
+      this.points = points;
+      this.footprint = footprint;
+      this.sequence = sequence;
+    }
+  }
+}
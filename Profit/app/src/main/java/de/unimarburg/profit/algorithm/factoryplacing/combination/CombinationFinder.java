@@ -1,6 +1,7 @@
 package de.unimarburg.profit.algorithm.factoryplacing.combination;
 
 import de.unimarburg.profit.algorithm.mineplacing.MineWithResources;
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.Product;
@@ -28,4 +29,23 @@ public interface CombinationFinder {
   Collection<TypeAndMinesCombination> findCombinations(Collection<Mine> connectableMines,
       Collection<MineWithResources> mineWithResources, Collection<Product> products,
       Factory factory);
+
+  /**
+   * Finds possible combinations of {@link Mine}s like
+   * {@link #findCombinations(Collection, Collection, Collection, Factory)}, but stops searching,
+   * when the given {@link Deadline} expires.
+   *
+   * @param connectableMines  {@link Mine}s, that can be connected to the {@link Factory}.
+   * @param mineWithResources All {@link Mine}s, that exists on the
+   *                          {@link de.unimarburg.profit.model.Field} with their resources.
+   * @param products {@link Product}s, that can be produced by the {@link Factory}.
+   * @param factory Factory, to which the {@link Mine}s should be connected.
+   * @param deadline {@link Deadline}, after which the combinations found so far are returned.
+   * @return Possible combinations of {@link Mine}s.
+   */
+  default Collection<TypeAndMinesCombination> findCombinations(Collection<Mine> connectableMines,
+      Collection<MineWithResources> mineWithResources, Collection<Product> products,
+      Factory factory, Deadline deadline) {
+    return findCombinations(connectableMines, mineWithResources, products, factory);
+  }
 }
@@ -1,6 +1,8 @@
 package de.unimarburg.profit.algorithm.factoryplacing.combination;
 
+import de.unimarburg.profit.algorithm.DeadlineTermination;
 import de.unimarburg.profit.algorithm.mineplacing.MineWithResources;
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.Product;
@@ -22,6 +24,14 @@ public class CombinationFinderImpl implements CombinationFinder {
   public Collection<TypeAndMinesCombination> findCombinations(Collection<Mine> connectableMines,
       Collection<MineWithResources> mineWithResources, Collection<Product> products,
       Factory factory) {
+    return findCombinations(connectableMines, mineWithResources, products, factory,
+        Deadline.never());
+  }
+
+  @Override
+  public Collection<TypeAndMinesCombination> findCombinations(Collection<Mine> connectableMines,
+      Collection<MineWithResources> mineWithResources, Collection<Product> products,
+      Factory factory, Deadline deadline) {
 
     MineWithResources[] connectableMinesArray = mineWithResources.stream()
         .filter(mineResourceAmount -> connectableMines.contains(mineResourceAmount.getMine()))
@@ -29,10 +39,15 @@ public class CombinationFinderImpl implements CombinationFinder {
 
     Collection<TypeAndMinesCombination> combinations = new HashSet<>();
     for (Product product : products) {
+      if (deadline.isExpired()) {
+        break;
+      }
 
       NondominatedPopulation population = new Executor().withProblemClass(
               MineConnectionsChoosingProblem.class, factory, connectableMinesArray, product)
-          .withAlgorithm("NSGAII").withMaxEvaluations(500).distributeOnAllCores().run();
+          .withAlgorithm("NSGAII").withMaxEvaluations(500)
+          .withTerminationCondition(new DeadlineTermination(deadline)).distributeOnAllCores()
+          .run();
 
       for (Solution solution : population) {
         combinations.add(
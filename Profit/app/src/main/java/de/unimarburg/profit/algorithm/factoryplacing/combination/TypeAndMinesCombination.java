@@ -1,14 +1,14 @@
 package de.unimarburg.profit.algorithm.factoryplacing.combination;
 
 import de.unimarburg.profit.algorithm.mineplacing.MineWithResources;
+import de.unimarburg.profit.model.DistanceField;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.ResourceVector;
 import de.unimarburg.profit.model.enums.ProductType;
 import de.unimarburg.profit.model.enums.ResourceType;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Predicate;
 
 /**
@@ -55,13 +55,8 @@ public class TypeAndMinesCombination {
    */
   public double getValue() {
 
-    Map<ResourceType, Integer> neededResources = new HashMap<>(product.getNeededResources());
-    neededResources.keySet().removeIf(resourceType -> neededResources.get(resourceType) == 0);
-
-    Map<ResourceType, Integer> availableResources = new HashMap<>();
-    for (ResourceType resourceType : ResourceType.values()) {
-      availableResources.put(resourceType, 0);
-    }
+    ResourceVector neededResources = product.getNeededResources();
+    ResourceVector availableResources = new ResourceVector();
 
     for (MineWithResources mineWithResources : minesWithResources) {
 
@@ -70,16 +65,19 @@ public class TypeAndMinesCombination {
       ResourceType resourceType = mineWithResources.getResourceType();
 
       //If there exists an unnecessary mine.
-      if (!neededResources.containsKey(resourceType)) {
+      if (neededResources.get(resourceType) == 0) {
         return 0;
       }
 
-      availableResources.put(resourceType, availableResources.get(resourceType) + amount);
+      availableResources.add(resourceType, amount);
 
     }
 
     double amount = Integer.MAX_VALUE;
-    for (ResourceType resourceType : neededResources.keySet()) {
+    for (ResourceType resourceType : ResourceType.values()) {
+      if (neededResources.get(resourceType) == 0) {
+        continue;
+      }
 
       double available = availableResources.get(resourceType);
       double needed = neededResources.get(resourceType);
@@ -99,7 +97,10 @@ public class TypeAndMinesCombination {
   }
 
   /**
-   * Calculates the cumulative distance between the {@link Factory} to each {@link Mine}.
+   * Calculates the cumulative distance between the {@link Factory} to each {@link Mine}. If the
+   * {@link DistanceField} of the deposit of a {@link Mine} is known, the length of the shortest
+   * path around all obstacles from the deposit to the {@link Factory} is used. Otherwise, the
+   * straight-line distance is used.
    *
    * @return Sum of distances.
    */
@@ -111,6 +112,15 @@ public class TypeAndMinesCombination {
     int factoryY = factory.getY();
 
     for (MineWithResources mineWithResources : minesWithResources) {
+      DistanceField depositDistances = mineWithResources.getDepositDistances();
+      if (depositDistances != null) {
+        int pathLength = depositDistances.getDistance(factory);
+        if (pathLength != DistanceField.UNREACHABLE) {
+          distance += pathLength;
+          continue;
+        }
+      }
+
       int mineX = mineWithResources.getMine().getX();
       int mineY = mineWithResources.getMine().getY();
 
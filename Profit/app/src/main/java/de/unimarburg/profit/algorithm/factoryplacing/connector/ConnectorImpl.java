@@ -1,6 +1,8 @@
 package de.unimarburg.profit.algorithm.factoryplacing.connector;
 
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.ConveyorGraph;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
@@ -8,7 +10,6 @@ import de.unimarburg.profit.model.Tile;
 import de.unimarburg.profit.model.enums.ConveyorSubType;
 import de.unimarburg.profit.model.enums.TileType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
-import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,9 +38,15 @@ public class ConnectorImpl implements Connector {
    */
   private final Field field;
   /**
-   * The {@link Tile}s that make up the current {@link Field}.
+   * All {@link Conveyor}s, that avoid the fixed objects of the {@code field}. Whether their tiles
+   * are still vacant is checked on top of it.
    */
-  private final Tile[][] fieldTiles;
+  private final ConveyorGraph conveyorGraph;
+  /**
+   * After this {@link Deadline} expired, the searches stop and no more {@link Mine}s are found or
+   * connected.
+   */
+  private final Deadline deadline;
   /**
    * Matrix that saves connection information about all tiles. Every tile in the matrix knows which
    * other tiles in the matrix it can be connected to.
@@ -88,8 +95,20 @@ public class ConnectorImpl implements Connector {
    * @param field The field that is used by this {@link Connector}.
    */
   public ConnectorImpl(Field field) {
+    this(field, Deadline.never());
+  }
+
+  /**
+   * Constructor of class {@link ConnectorImpl}. Sets the {@link Field} this {@link Connector} will
+   * work on and the {@link Deadline}, after which its searches stop.
+   *
+   * @param field    The field that is used by this {@link Connector}.
+   * @param deadline The {@link Deadline} of the searches.
+   */
+  public ConnectorImpl(Field field, Deadline deadline) {
     this.field = field;
-    this.fieldTiles = field.getTiles();
+    this.conveyorGraph = field.getConveyorGraph();
+    this.deadline = deadline;
     this.connectionMatrix3D =
         new TileConnectionInfo[LAYER_COUNT][this.field.getHeight()][this.field.getWidth()];
     for (TileConnectionInfo[][] rows : this.connectionMatrix3D) {
@@ -146,33 +165,34 @@ public class ConnectorImpl implements Connector {
     var conveyorQueue = gatherInputsInQueue(output);
     var placed = false;
 
-    while (!conveyorQueue.isEmpty()) {
+    while (!conveyorQueue.isEmpty() && !this.deadline.isExpired()) {
       var currentTriple = conveyorQueue.poll();
+      var mark = this.field.mark();
       placed = placeConveyor(currentTriple);
       if (placed) {
         placed = this.connectMineToFactory(currentTriple.output);
         if (placed) {
+          this.field.commit(mark);
           break;
         } else {
-          removeTopOfConveyorStack();
+          removeTopOfConveyorStack(mark);
         }
+      } else {
+        this.field.commit(mark);
       }
     }
     return placed;
   }
 
   /**
-   * Removes the top of the stack of recently placed {@link Conveyor}s.
+   * Removes the top of the stack of recently placed {@link Conveyor}s by rolling the
+   * {@link Field} back to the given mark.
+   *
+   * @param mark The mark of the {@link Field} before the top of the stack was placed.
    */
-  private void removeTopOfConveyorStack() {
-    if (!this.placedConveyorsStack.isEmpty()) {
-      Conveyor topOfStack = this.placedConveyorsStack.pop();
-      try {
-        this.field.removeBaseObject(topOfStack);
-      } catch (CouldNotRemoveObjectException ignored) {
-        //Ignore
-      }
-    }
+  private void removeTopOfConveyorStack(int mark) {
+    this.placedConveyorsStack.pop();
+    this.field.rollbackTo(mark);
   }
 
   /**
@@ -355,26 +375,26 @@ public class ConnectorImpl implements Connector {
    *         connected to a {@link Factory}, {@code false} otherwise.
    */
   private boolean isFactoryConnectedConveyorInput(int x, int y) {
-    var object = this.fieldTiles[x][y].getObject().orElse(null);
+    var object = this.field.getObjectAt(x, y).orElse(null);
     var conveyor = object != null && object.getClass().equals(Conveyor.class)
         ? (Conveyor) object : null;
     var factory = conveyor != null ? conveyor.getConnectedFactory() : null;
     var isConnectedConveyor = factory == this.currentFactory;
-    return this.fieldTiles[x][y].getType() == TileType.INPUT && isConnectedConveyor;
+    return this.field.getTileType(x, y) == TileType.INPUT && isConnectedConveyor;
   }
 
   /**
    * Checks if the given coordinates belong to the input of the {@code currentFactory}.
    *
-   * @param x The x-coordinate of a {@link Tile} from the current {@code fieldTiles}.
-   * @param y The y-coordinate of a {@link Tile} from the current {@code fieldTiles}.
+   * @param x The x-coordinate of a {@link Tile} from the current {@code field}.
+   * @param y The y-coordinate of a {@link Tile} from the current {@code field}.
    * @return {@code true} if the given {@link Tile} is the input of a {@link Factory}, {@code false}
    *         otherwise.
    */
   private boolean isFactoryInput(int x, int y) {
-    var object = this.fieldTiles[x][y].getObject().orElse(null);
+    var object = this.field.getObjectAt(x, y).orElse(null);
     var isCorrectFactory = object != null && object.equals(this.currentFactory);
-    return this.fieldTiles[x][y].getType() == TileType.INPUT && isCorrectFactory;
+    return this.field.getTileType(x, y) == TileType.INPUT && isCorrectFactory;
   }
 
   /**
@@ -389,7 +409,7 @@ public class ConnectorImpl implements Connector {
     var outputs = new Point[mines.size()];
     var index = 0;
     for (Mine mine : mines) {
-      for (Tile tile : mine.getTiles()) {
+      for (Tile tile : mine.getShape().getTiles()) {
         if (tile.getType() == TileType.OUTPUT) {
           var x = mine.getX();
           var y = mine.getY();
@@ -485,7 +505,7 @@ public class ConnectorImpl implements Connector {
         0, new LinkedList<>());
 
     // BFS
-    while (!this.queue.isEmpty()) {
+    while (!this.queue.isEmpty() && !this.deadline.isExpired()) {
       var currentInputCoord = this.queue.poll();
       this.jumpCount =
           this.currentLayer[currentInputCoord.coordinateB][currentInputCoord.coordinateA].jumpCount
@@ -567,7 +587,7 @@ public class ConnectorImpl implements Connector {
   private Deque<Point> gatherPossibleInputs(Point output) {
     var inputDeque = new ArrayDeque<Point>();
     // NORTH POINTING CONVEYOR
-    boolean conveyorCanBePlaced = output.coordinateB - 3 >= 0;
+    boolean conveyorCanBePlaced = hasMove(output, ConveyorSubType.LONG_OUTPUT_NORTH);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           - 1, NodeType.IN_BETWEEN)
@@ -581,7 +601,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateB - 2 >= 0) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.SHORT_OUTPUT_NORTH)) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           - 1, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA, output.coordinateB
@@ -592,7 +612,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // EAST POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateA + 3 < this.field.getWidth();
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.LONG_OUTPUT_EAST);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA + 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA + 2, output.coordinateB, NodeType.IN_BETWEEN)
@@ -602,7 +622,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateA + 2 < this.field.getWidth()) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.SHORT_OUTPUT_EAST)) {
       if (tileIsVacant(output.coordinateA + 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA + 2, output.coordinateB, NodeType.INPUT)) {
         inputDeque.add(new Point(output.coordinateA + 2, output.coordinateB, NodeType.INPUT));
@@ -610,7 +630,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // SOUTH POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateB + 3 < this.field.getHeight();
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.LONG_OUTPUT_SOUTH);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           + 1, NodeType.IN_BETWEEN)
@@ -624,7 +644,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateB + 2 < this.field.getHeight()) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.SHORT_OUTPUT_SOUTH)) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           + 1, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA, output.coordinateB
@@ -635,7 +655,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // WEST POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateA - 3 >= 0;
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.LONG_OUTPUT_WEST);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA - 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA - 2, output.coordinateB, NodeType.IN_BETWEEN)
@@ -645,7 +665,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateA - 2 >= 0) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.SHORT_OUTPUT_WEST)) {
       if (tileIsVacant(output.coordinateA - 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA - 2, output.coordinateB, NodeType.INPUT)) {
         inputDeque.add(new Point(output.coordinateA - 2, output.coordinateB, NodeType.INPUT));
@@ -657,7 +677,7 @@ public class ConnectorImpl implements Connector {
   private Deque<Point> gatherPossibleInputsAlt1(Point output) {
     var inputDeque = new ArrayDeque<Point>();
     // NORTH POINTING CONVEYOR
-    boolean conveyorCanBePlaced = output.coordinateB - 2 >= 0;
+    boolean conveyorCanBePlaced = hasMove(output, ConveyorSubType.SHORT_OUTPUT_NORTH);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           - 1, NodeType.IN_BETWEEN)
@@ -669,7 +689,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateB - 3 >= 0) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.LONG_OUTPUT_NORTH)) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           - 1, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA, output.coordinateB
@@ -682,7 +702,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // EAST POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateA + 2 < this.field.getWidth();
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.SHORT_OUTPUT_EAST);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA + 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA + 2, output.coordinateB, NodeType.INPUT)) {
@@ -691,7 +711,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateA + 3 < this.field.getWidth()) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.LONG_OUTPUT_EAST)) {
       if (tileIsVacant(output.coordinateA + 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA + 2, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA + 3, output.coordinateB,
@@ -701,7 +721,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // SOUTH POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateB + 2 < this.field.getHeight();
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.SHORT_OUTPUT_SOUTH);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           + 1, NodeType.IN_BETWEEN)
@@ -713,7 +733,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateB + 3 < this.field.getHeight()) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.LONG_OUTPUT_SOUTH)) {
       if (tileIsVacant(output.coordinateA, output.coordinateB
           + 1, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA, output.coordinateB
@@ -726,7 +746,7 @@ public class ConnectorImpl implements Connector {
     }
 
     // WEST POINTING CONVEYOR
-    conveyorCanBePlaced = output.coordinateA - 2 >= 0;
+    conveyorCanBePlaced = hasMove(output, ConveyorSubType.SHORT_OUTPUT_WEST);
     if (conveyorCanBePlaced) {
       if (tileIsVacant(output.coordinateA - 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA - 2, output.coordinateB, NodeType.INPUT)) {
@@ -735,7 +755,7 @@ public class ConnectorImpl implements Connector {
         conveyorCanBePlaced = false;
       }
     }
-    if (!conveyorCanBePlaced && output.coordinateA - 3 >= 0) {
+    if (!conveyorCanBePlaced && hasMove(output, ConveyorSubType.LONG_OUTPUT_WEST)) {
       if (tileIsVacant(output.coordinateA - 1, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA - 2, output.coordinateB, NodeType.IN_BETWEEN)
           && tileIsVacant(output.coordinateA - 3, output.coordinateB, NodeType.INPUT)) {
@@ -745,6 +765,19 @@ public class ConnectorImpl implements Connector {
     return inputDeque;
   }
 
+  /**
+   * Checks if a {@link Conveyor} of the given {@link ConveyorSubType} can start at the given
+   * output without leaving the {@link Field} or covering a fixed object. Such a {@link Conveyor}
+   * covers the same cells as one, that points in the opposite direction and ends at the output.
+   *
+   * @param output  The coordinates of an output.
+   * @param subType The {@link ConveyorSubType} of the {@link Conveyor}.
+   * @return true if the cells of the {@link Conveyor} are not blocked by fixed objects.
+   */
+  private boolean hasMove(Point output, ConveyorSubType subType) {
+    return this.conveyorGraph.hasMove(output.coordinateA, output.coordinateB, subType);
+  }
+
   /**
    * Gathers all possible outputs for a given central point. If the output of a mine is found, it is
    * added to the list of reachable mines.<br/> A tile in the connection matrix can only be used as
@@ -759,16 +792,16 @@ public class ConnectorImpl implements Connector {
   private Collection<Point> gatherPossibleOutputs(Collection<Mine> reachableMines, Point center) {
     var possibleOutputCoords = new ArrayList<Point>();
     if (center.coordinateB - 1 >= 0) {
-      var currTile = this.field.getTiles()[center.coordinateA][center.coordinateB
-          - 1];
-      var baseObject = currTile.getObject().orElse(null);
+      var currTileType = this.field.getTileType(center.coordinateA, center.coordinateB - 1);
+      var baseObject = this.field.getObjectAt(center.coordinateA, center.coordinateB - 1)
+          .orElse(null);
       if (baseObject != null && baseObject.getClass() == Mine.class
-          && currTile.getType() == TileType.OUTPUT) {
+          && currTileType == TileType.OUTPUT) {
         if (!reachableMines.contains((Mine) baseObject)) {
           reachableMines.add((Mine) baseObject);
         }
       } else {
-        if (currTile.getType() == TileType.EMPTY
+        if (currTileType == TileType.EMPTY
             && this.currentLayer[center.coordinateB - 1][center.coordinateA] == null) {
           possibleOutputCoords.add(new Point(center.coordinateA, center.coordinateB
               - 1, NodeType.OUTPUT));
@@ -777,15 +810,16 @@ public class ConnectorImpl implements Connector {
     }
 
     if (center.coordinateA + 1 < this.field.getWidth()) {
-      var currTile = this.field.getTiles()[center.coordinateA + 1][center.coordinateB];
-      var baseObject = currTile.getObject().orElse(null);
+      var currTileType = this.field.getTileType(center.coordinateA + 1, center.coordinateB);
+      var baseObject = this.field.getObjectAt(center.coordinateA + 1, center.coordinateB)
+          .orElse(null);
       if (baseObject != null && baseObject.getClass() == Mine.class
-          && currTile.getType() == TileType.OUTPUT) {
+          && currTileType == TileType.OUTPUT) {
         if (!reachableMines.contains((Mine) baseObject)) {
           reachableMines.add((Mine) baseObject);
         }
       } else {
-        if (currTile.getType() == TileType.EMPTY
+        if (currTileType == TileType.EMPTY
             && this.currentLayer[center.coordinateB][center.coordinateA + 1] == null) {
           possibleOutputCoords.add(
               new Point(center.coordinateA + 1, center.coordinateB, NodeType.OUTPUT));
@@ -794,16 +828,16 @@ public class ConnectorImpl implements Connector {
     }
 
     if (center.coordinateB + 1 < this.field.getHeight()) {
-      var currTile = this.field.getTiles()[center.coordinateA][center.coordinateB
-          + 1];
-      var baseObject = currTile.getObject().orElse(null);
+      var currTileType = this.field.getTileType(center.coordinateA, center.coordinateB + 1);
+      var baseObject = this.field.getObjectAt(center.coordinateA, center.coordinateB + 1)
+          .orElse(null);
       if (baseObject != null && baseObject.getClass() == Mine.class
-          && currTile.getType() == TileType.OUTPUT) {
+          && currTileType == TileType.OUTPUT) {
         if (!reachableMines.contains((Mine) baseObject)) {
           reachableMines.add((Mine) baseObject);
         }
       } else {
-        if (currTile.getType() == TileType.EMPTY
+        if (currTileType == TileType.EMPTY
             && this.currentLayer[center.coordinateB + 1][center.coordinateA] == null) {
           possibleOutputCoords.add(new Point(center.coordinateA, center.coordinateB
               + 1, NodeType.OUTPUT));
@@ -812,15 +846,16 @@ public class ConnectorImpl implements Connector {
     }
 
     if (center.coordinateA - 1 >= 0) {
-      var currTile = this.field.getTiles()[center.coordinateA - 1][center.coordinateB];
-      var baseObject = currTile.getObject().orElse(null);
+      var currTileType = this.field.getTileType(center.coordinateA - 1, center.coordinateB);
+      var baseObject = this.field.getObjectAt(center.coordinateA - 1, center.coordinateB)
+          .orElse(null);
       if (baseObject != null && baseObject.getClass() == Mine.class
-          && currTile.getType() == TileType.OUTPUT) {
+          && currTileType == TileType.OUTPUT) {
         if (!reachableMines.contains((Mine) baseObject)) {
           reachableMines.add((Mine) baseObject);
         }
       } else {
-        if (currTile.getType() == TileType.EMPTY
+        if (currTileType == TileType.EMPTY
             && this.currentLayer[center.coordinateB][center.coordinateA - 1] == null) {
           possibleOutputCoords.add(
               new Point(center.coordinateA - 1, center.coordinateB, NodeType.OUTPUT));
@@ -843,13 +878,13 @@ public class ConnectorImpl implements Connector {
    */
   private boolean tileIsVacant(int horizontalPosition, int verticalPosition,
       NodeType requiredType) {
+    var tileType = this.field.getTileType(horizontalPosition, verticalPosition);
     if (requiredType == NodeType.INPUT) {
-      return this.fieldTiles[horizontalPosition][verticalPosition].getType() == TileType.EMPTY
+      return tileType == TileType.EMPTY
           && (this.currentLayer[verticalPosition][horizontalPosition] == null
           || this.currentLayer[verticalPosition][horizontalPosition].type == NodeType.INPUT);
     } else {
-      return (this.fieldTiles[horizontalPosition][verticalPosition].getType() == TileType.EMPTY
-          || this.fieldTiles[horizontalPosition][verticalPosition].getType() == TileType.CROSSABLE)
+      return (tileType == TileType.EMPTY || tileType == TileType.CROSSABLE)
           && this.currentLayer[verticalPosition][horizontalPosition] == null;
     }
   }
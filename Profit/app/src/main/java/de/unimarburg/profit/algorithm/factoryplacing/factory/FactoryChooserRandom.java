@@ -1,22 +1,33 @@
 package de.unimarburg.profit.algorithm.factoryplacing.factory;
 
+import de.unimarburg.profit.model.DistanceField;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Field;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * Implementation of {@link FactoryChooser}. Chooses {@link Factory}s random.
+ * Implementation of {@link FactoryChooser}. Chooses {@link Factory}s random. A {@link Factory},
+ * that no deposit can reach around the obstacles, can never earn points and is not chosen.
  *
  * @author Yannick Kraml.
  */
 public final class FactoryChooserRandom implements FactoryChooser {
 
 
+  // The center of a factory is reachable, iff any of its empty cells is.
+  private static final int FACTORY_CENTER = 2;
+
   @Override
   public Optional<Factory> chooseFactory(Field field, Collection<Factory> possibleFactories) {
-    Optional<Factory> first = possibleFactories.stream()
-        .skip((int) (possibleFactories.size() * Math.random()))
+    DistanceField depositDistances = field.getDistanceFields().getNearestDeposit();
+    List<Factory> reachableFactories = possibleFactories.stream()
+        .filter(factory -> depositDistances.getDistance(factory.getX() + FACTORY_CENTER,
+            factory.getY() + FACTORY_CENTER) != DistanceField.UNREACHABLE)
+        .toList();
+    Optional<Factory> first = reachableFactories.stream()
+        .skip((int) (reachableFactories.size() * Math.random()))
         .findFirst();
 
     first.ifPresent(possibleFactories::remove);
@@ -1,9 +1,10 @@
 package de.unimarburg.profit.algorithm.factoryplacing.factory;
 
+import de.unimarburg.profit.model.Bitboard;
 import de.unimarburg.profit.model.Factory;
 import de.unimarburg.profit.model.Field;
-import de.unimarburg.profit.model.Tile;
-import de.unimarburg.profit.model.enums.TileType;
+import de.unimarburg.profit.model.PlacementMasks;
+import de.unimarburg.profit.model.ShapeTemplate;
 import java.util.Collection;
 import java.util.LinkedList;
 
@@ -20,24 +21,10 @@ public class FactoryPlaceFinderImpl implements FactoryPlaceFinder {
 
     // mögliche Plätze für Fabriken bestimmen
     Collection<Factory> factories = new LinkedList<>();
-    Tile[][] tiles = field.getTiles();
+    Bitboard sites = PlacementMasks.of(field).legalPositions(ShapeTemplate.ofFactory());
     for (int i = 0; i < field.getWidth(); i++) {
-      for (int j = 0; j < field.getWidth(); j++) {
-        boolean possiblePlace = true;
-        for (int x = 0; x < 5; x++) {
-          for (int y = 0; y < 5; y++) {
-            if (i + x >= field.getWidth() || j + y >= field.getHeight()
-                || !tiles[i + x][j + y].getType().equals(TileType.EMPTY)) {
-              possiblePlace = false;
-              break;
-            }
-          }
-          if (!possiblePlace) {
-            break;
-          }
-        }
-
-        if (possiblePlace) {
+      for (int j = 0; j < field.getHeight(); j++) {
+        if (sites.contains(i, j)) {
           factories.add(Factory.createFactoryWithoutProduct(i, j));
         }
       }
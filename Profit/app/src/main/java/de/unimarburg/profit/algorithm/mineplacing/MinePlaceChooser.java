@@ -1,5 +1,6 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Deposit;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
@@ -25,4 +26,20 @@ public interface MinePlaceChooser {
    */
   Collection<Map<Mine, Deposit>> choosePlacements(Field field, Map<Mine, Deposit> possibleMines);
 
+  /**
+   * Chooses which {@link Mine}s should be placed like {@link #choosePlacements(Field, Map)}, but
+   * stops searching, when the given {@link Deadline} expires.
+   *
+   * @param field         {@link Field}, on which the {@link Mine}s should be placed.
+   * @param possibleMines {@link Map}, that contains {@link Mine}s as keys and the {@link Deposit},
+   *                      that are connected to the {@link Mine}s as values.
+   * @param deadline      {@link Deadline}, after which the best placements found so far are
+   *                      returned.
+   * @return Collection, that contains possible placements of {@link Mine}s.
+   */
+  default Collection<Map<Mine, Deposit>> choosePlacements(Field field,
+      Map<Mine, Deposit> possibleMines, Deadline deadline) {
+    return choosePlacements(field, possibleMines);
+  }
+
 }
@@ -1,9 +1,13 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
+import de.unimarburg.profit.algorithm.DeadlineTermination;
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Deposit;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.MinePool;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
@@ -20,6 +24,12 @@ import org.moeaframework.core.variable.EncodingUtils;
 public class MinePlaceChooserImpl implements MinePlaceChooser {
 
   private static final Object SEARCH_DEPTH = 20;
+  /**
+   * Longest time of one search in milliseconds. The {@link Deadline} ends the last search, but the
+   * algorithm chooses placements again and again, so a single search must not use all of the time
+   * until the {@link Deadline}.
+   */
+  private static final long MAX_SEARCH_MILLIS = 5 * 1000;
 
   /**
    * Chooses which {@link Mine}s should be placed from a Map of {@link Mine}s, that can
@@ -32,14 +42,25 @@ public class MinePlaceChooserImpl implements MinePlaceChooser {
    */
   public Collection<Map<Mine, Deposit>> choosePlacements(Field field,
       Map<Mine, Deposit> possibleMines) {
+    return choosePlacements(field, possibleMines, Deadline.never());
+  }
+
+  @Override
+  public Collection<Map<Mine, Deposit>> choosePlacements(Field field,
+      Map<Mine, Deposit> possibleMines, Deadline deadline) {
 
-    Mine[] possibleMinesArray = possibleMines.keySet().toArray(new Mine[0]);
+    // Ordered by the ids of the pool, so the variables of the problem do not depend on the order
+    // of the map.
+    MinePool pool = field.getMinePool();
+    Mine[] possibleMinesArray = possibleMines.keySet().stream()
+        .sorted(Comparator.comparingInt(pool::idOf)).toArray(Mine[]::new);
 
     NondominatedPopulation population = new Executor()
         .withProblemClass(MinePlacingProblem.class, field, SEARCH_DEPTH, possibleMines,
             possibleMinesArray)
         .withAlgorithm("NSGAII")
-        .withMaxTime(5 * 1000)
+        .withMaxTime(MAX_SEARCH_MILLIS)
+        .withTerminationCondition(new DeadlineTermination(deadline))
         .distributeOnAllCores()
         .run();
 
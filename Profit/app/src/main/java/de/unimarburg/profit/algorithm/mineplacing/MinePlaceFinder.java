@@ -1,6 +1,7 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
 import de.unimarburg.profit.model.Deposit;
+import de.unimarburg.profit.model.DistanceFields;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.enums.ResourceType;
@@ -51,19 +52,34 @@ public interface MinePlaceFinder {
    * @return Collection of {@link MineWithResources}.
    */
   default Collection<MineWithResources> calcResourcesFromMines(Map<Mine, Deposit> placedMines) {
+    return calcResourcesFromMines(placedMines, null);
+  }
+
+  /**
+   * Calculates how many resources each {@link Mine} can produce in its life cycle and adds the
+   * distances from its {@link Deposit}.
+   *
+   * @param placedMines    Map, that contains the placed {@link Mine}s as keys and the connected
+   *                       {@link Deposit}s as values.
+   * @param distanceFields {@link DistanceFields} of the {@link Field}, may be null.
+   * @return Collection of {@link MineWithResources}.
+   */
+  default Collection<MineWithResources> calcResourcesFromMines(Map<Mine, Deposit> placedMines,
+      DistanceFields distanceFields) {
     Map<Deposit, Collection<Mine>> minesFromDeposits = getMinesFromDeposits(placedMines);
 
     Collection<MineWithResources> amounts = new HashSet<>();
 
     minesFromDeposits.forEach((deposit, mines) -> {
 
-      Map<ResourceType, Integer> startResources = deposit.getStartResources();
       ResourceType resourceType = deposit.getResourceType();
-      Integer amount = startResources.get(resourceType);
+      int amount = deposit.getStartResources().get(resourceType);
 
       int amountPerMine = amount / mines.size();
+      var distances = distanceFields == null ? null : distanceFields.get(deposit);
 
-      mines.forEach(mine -> amounts.add(new MineWithResources(mine, resourceType, amountPerMine)));
+      mines.forEach(mine -> amounts.add(
+          new MineWithResources(mine, resourceType, amountPerMine, distances)));
 
     });
 
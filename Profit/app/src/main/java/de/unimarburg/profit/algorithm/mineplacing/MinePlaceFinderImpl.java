@@ -1,10 +1,15 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
+import de.unimarburg.profit.model.Bitboard;
 import de.unimarburg.profit.model.Deposit;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.MinePool;
+import de.unimarburg.profit.model.PlacementMasks;
+import de.unimarburg.profit.model.ShapeTemplate;
 import de.unimarburg.profit.model.enums.MineSubType;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,7 +26,14 @@ public class MinePlaceFinderImpl implements MinePlaceFinder {
   @Override
   public Map<Mine, Deposit> calculatePossibleMines(Field field) {
     Map<Mine, Deposit> placements = new HashMap<>();
-    Collection<Deposit> deposits = field.getObjectsOfClass(Deposit.class);
+    PlacementMasks masks = PlacementMasks.of(field);
+    MinePool pool = field.getMinePool();
+    Map<MineSubType, Bitboard> legalMines = new EnumMap<>(MineSubType.class);
+    for (MineSubType subType : MineSubType.values()) {
+      legalMines.put(subType, masks.legalPositions(ShapeTemplate.ofMine(subType)));
+    }
+
+    Collection<Deposit> deposits = field.getObjectsOfClassView(Deposit.class);
     for (Deposit deposit : deposits) {
 
       int horPos = deposit.getX();
@@ -31,25 +43,42 @@ public class MinePlaceFinderImpl implements MinePlaceFinder {
 
       //From left to right.
       for (int i = horPos; i < horPos + width; i++) {
-        placements.put(Mine.createMine(i - 1, verPos - 3, MineSubType.OUTPUT_NORTH), deposit);
-        placements.put(Mine.createMine(i + 1, verPos - 2, MineSubType.OUTPUT_EAST), deposit);
-        placements.put(Mine.createMine(i, verPos + height + 1, MineSubType.OUTPUT_SOUTH), deposit);
-        placements.put(Mine.createMine(i - 2, verPos + height, MineSubType.OUTPUT_WEST), deposit);
+        putIfLegal(placements, pool, legalMines, i - 1, verPos - 3, MineSubType.OUTPUT_NORTH,
+            deposit);
+        putIfLegal(placements, pool, legalMines, i + 1, verPos - 2, MineSubType.OUTPUT_EAST,
+            deposit);
+        putIfLegal(placements, pool, legalMines, i, verPos + height + 1, MineSubType.OUTPUT_SOUTH,
+            deposit);
+        putIfLegal(placements, pool, legalMines, i - 2, verPos + height, MineSubType.OUTPUT_WEST,
+            deposit);
       }
 
       //From top to bottom
       for (int i = verPos; i < verPos + height; i++) {
-        placements.put(Mine.createMine(horPos - 2, i - 2, MineSubType.OUTPUT_NORTH), deposit);
-        placements.put(Mine.createMine(horPos + width + 1, i - 1, MineSubType.OUTPUT_EAST),
+        putIfLegal(placements, pool, legalMines, horPos - 2, i - 2, MineSubType.OUTPUT_NORTH,
+            deposit);
+        putIfLegal(placements, pool, legalMines, horPos + width + 1, i - 1,
+            MineSubType.OUTPUT_EAST, deposit);
+        putIfLegal(placements, pool, legalMines, horPos + width, i + 1, MineSubType.OUTPUT_SOUTH,
+            deposit);
+        putIfLegal(placements, pool, legalMines, horPos - 3, i, MineSubType.OUTPUT_WEST,
             deposit);
-        placements.put(Mine.createMine(horPos + width, i + 1, MineSubType.OUTPUT_SOUTH), deposit);
-        placements.put(Mine.createMine(horPos - 3, i, MineSubType.OUTPUT_WEST), deposit);
       }
 
     }
 
-    placements.keySet().removeIf(o -> !field.baseObjectCanBePlaced(o));
-
     return placements;
   }
+
+  /**
+   * Adds a {@link Mine} to the placements, if it can be placed. The {@link Mine} is only interned
+   * for legal positions.
+   */
+  private static void putIfLegal(Map<Mine, Deposit> placements, MinePool pool,
+      Map<MineSubType, Bitboard> legalMines, int horPos, int verPos, MineSubType subType,
+      Deposit deposit) {
+    if (legalMines.get(subType).contains(horPos, verPos)) {
+      placements.put(pool.intern(horPos, verPos, subType), deposit);
+    }
+  }
 }
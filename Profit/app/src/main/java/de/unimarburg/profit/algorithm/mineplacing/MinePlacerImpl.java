@@ -7,7 +7,6 @@ import de.unimarburg.profit.model.Tile;
 import de.unimarburg.profit.model.enums.TileType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
 import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,7 +49,7 @@ public class MinePlacerImpl implements MinePlacer {
 
       boolean isUseless = true;
 
-      Optional<Tile> outputTileOptional = Arrays.stream(mine.getTiles()).filter(
+      Optional<Tile> outputTileOptional = mine.getShape().getTiles().stream().filter(
           tile -> tile.getType().equals(TileType.OUTPUT)).findFirst();
 
       if (outputTileOptional.isPresent()) {
@@ -59,11 +58,10 @@ public class MinePlacerImpl implements MinePlacer {
         int x = mine.getX() + outputTile.getRelHorPos();
         int y = mine.getY() + outputTile.getRelVerPos();
 
-        Tile[][] tiles = field.getTiles();
-        isUseless = !(neighborIsInput(tiles, x + 1, y)
-            | neighborIsInput(tiles, x - 1, y)
-            | neighborIsInput(tiles, x, y - 1)
-            | neighborIsInput(tiles, x, y + 1));
+        isUseless = !(neighborIsInput(field, x + 1, y)
+            | neighborIsInput(field, x - 1, y)
+            | neighborIsInput(field, x, y - 1)
+            | neighborIsInput(field, x, y + 1));
 
       }
 
@@ -80,9 +78,8 @@ public class MinePlacerImpl implements MinePlacer {
 
   }
 
-  private static boolean neighborIsInput(Tile[][] tiles, int x, int y) {
-    return x >= 0 && x < tiles.length && y >= 0 && y < tiles[0].length && tiles[x][y].getType()
-        .equals(TileType.INPUT);
+  private static boolean neighborIsInput(Field field, int x, int y) {
+    return field.isInside(x, y) && field.getTileType(x, y) == TileType.INPUT;
   }
 
 
@@ -1,16 +1,20 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
 import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Bitboard;
 import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.ConveyorGraph;
 import de.unimarburg.profit.model.Deposit;
 import de.unimarburg.profit.model.Field;
 import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.PlacementMasks;
+import de.unimarburg.profit.model.ShapeTemplate;
 import de.unimarburg.profit.model.Tile;
 import de.unimarburg.profit.model.enums.ConveyorSubType;
 import de.unimarburg.profit.model.enums.TileType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
@@ -66,10 +70,16 @@ public class MinePlacingProblem extends AbstractProblem {
 
     int reachingScore = 0;
     Map<Mine, Deposit> placedMines = new HashMap<>();
-    copy.getObjectsOfClass(Mine.class)
+    copy.getObjectsOfClassView(Mine.class)
         .forEach(mine -> placedMines.put(mine, possibleMines.get(mine)));
+    PlacementMasks masks = PlacementMasks.of(copy);
+    Map<ConveyorSubType, Bitboard> legalConveyors = new EnumMap<>(ConveyorSubType.class);
+    for (ConveyorSubType subtype : ConveyorSubType.values()) {
+      legalConveyors.put(subtype, masks.legalPositions(ShapeTemplate.ofConveyor(subtype)));
+    }
+    ConveyorGraph graph = copy.getConveyorGraph();
     for (Mine mine : placedMines.keySet()) {
-      reachingScore += calcReachScore(copy, new LinkedList<>(), mine, turns);
+      reachingScore += calcReachScore(graph, legalConveyors, new LinkedList<>(), mine, turns);
       //reachingScore += calcReachScore(copy, mine, new HashSet<>(), turns);
     }
 
@@ -84,14 +94,14 @@ public class MinePlacingProblem extends AbstractProblem {
     solution.setObjective(2, placedMines.size());
   }
 
-  private int calcReachScore(Field field, Collection<Conveyor> path, BaseObject lastPlacedObject,
-      int turns) {
+  private int calcReachScore(ConveyorGraph graph, Map<ConveyorSubType, Bitboard> legalConveyors,
+      Collection<Conveyor> path, BaseObject lastPlacedObject, int turns) {
 
     if (turns <= 0) {
       return 0;
     }
 
-    Optional<Tile> optionalOutputTile = Arrays.stream(lastPlacedObject.getTiles())
+    Optional<Tile> optionalOutputTile = lastPlacedObject.getShape().getTiles().stream()
         .filter(tile -> tile.getType().equals(TileType.OUTPUT)).findFirst();
 
     if (optionalOutputTile.isEmpty()) {
@@ -105,14 +115,25 @@ public class MinePlacingProblem extends AbstractProblem {
     int reachScore = 1;
     for (Position neighborPosition : getValidNeighboringPositions(lastPlacedObject, position)) {
 
-      for (ConveyorSubType subtype : ConveyorSubType.values()) {
+      // The graph only contains conveyors, that avoid all obstacles and deposits. The masks check
+      // the objects placed since.
+      int endOfMoves = graph.endOfMoves(neighborPosition.horPos(), neighborPosition.verPos());
+      for (int move = graph.firstMove(neighborPosition.horPos(), neighborPosition.verPos());
+          move < endOfMoves; move++) {
+
+        ConveyorSubType subtype = graph.getSubType(move);
+        int conveyorX = graph.getConveyorX(move);
+        int conveyorY = graph.getConveyorY(move);
+        if (!legalConveyors.get(subtype).contains(conveyorX, conveyorY)) {
+          continue;
+        }
 
-        Conveyor conveyor = createConveyerFromInputPosition(neighborPosition, subtype);
-        if (field.baseObjectCanBePlaced(conveyor) && !intersect(path, conveyor)) {
+        Conveyor conveyor = Conveyor.createConveyor(conveyorX, conveyorY, subtype);
+        if (!intersect(path, conveyor)) {
           //Collection<Conveyer> newPath = new HashSet<>(path);
           //newPath.add(conveyer);
           path.add(conveyor);
-          reachScore += calcReachScore(field, path, conveyor, turns - 1);
+          reachScore += calcReachScore(graph, legalConveyors, path, conveyor, turns - 1);
         }
 
       }
@@ -123,11 +144,11 @@ public class MinePlacingProblem extends AbstractProblem {
 
   private boolean intersect(Collection<Conveyor> path, Conveyor conveyor) {
     for (Conveyor pathConveyor : path) {
-      for (Tile pathConveyerTile : pathConveyor.getTiles()) {
+      for (Tile pathConveyerTile : pathConveyor.getShape().getTiles()) {
         int x1 = pathConveyor.getX() + pathConveyerTile.getRelHorPos();
         int y1 = pathConveyor.getY() + pathConveyerTile.getRelVerPos();
 
-        for (Tile conveyerTile : conveyor.getTiles()) {
+        for (Tile conveyerTile : conveyor.getShape().getTiles()) {
 
           int x2 = conveyor.getX() + conveyerTile.getRelHorPos();
           int y2 = conveyor.getY() + conveyerTile.getRelVerPos();
@@ -154,7 +175,7 @@ public class MinePlacingProblem extends AbstractProblem {
     neighbors.add(new Position(position.horPos(), position.verPos() - 1));
 
     neighbors.removeIf(position1 -> {
-      for (Tile tile : object.getTiles()) {
+      for (Tile tile : object.getShape().getTiles()) {
         int x = object.getX() + tile.getRelHorPos();
         int y = object.getY() + tile.getRelVerPos();
         if (x == position1.horPos() && y == position1.verPos()) {
@@ -166,25 +187,6 @@ public class MinePlacingProblem extends AbstractProblem {
     return neighbors;
   }
 
-  private Conveyor createConveyerFromInputPosition(Position inputPosition, ConveyorSubType type) {
-    int horPos = inputPosition.horPos();
-    int verPos = inputPosition.verPos();
-
-    Conveyor conveyor;
-    switch (type) {
-      case SHORT_OUTPUT_EAST, LONG_OUTPUT_EAST ->
-          conveyor = Conveyor.createConveyor(horPos + 1, verPos, type);
-      case SHORT_OUTPUT_SOUTH, LONG_OUTPUT_SOUTH ->
-          conveyor = Conveyor.createConveyor(horPos, verPos + 1, type);
-      case SHORT_OUTPUT_WEST -> conveyor = Conveyor.createConveyor(horPos - 1, verPos, type);
-      case LONG_OUTPUT_WEST -> conveyor = Conveyor.createConveyor(horPos - 2, verPos, type);
-      case SHORT_OUTPUT_NORTH -> conveyor = Conveyor.createConveyor(horPos, verPos - 1, type);
-      case LONG_OUTPUT_NORTH -> conveyor = Conveyor.createConveyor(horPos, verPos - 2, type);
-      default -> throw new IllegalStateException("Unexpected value: " + type);
-    }
-    return conveyor;
-  }
-
 
   @Override
   public Solution newSolution() {
@@ -1,5 +1,7 @@
 package de.unimarburg.profit.algorithm.mineplacing;
 
+import de.unimarburg.profit.model.Deposit;
+import de.unimarburg.profit.model.DistanceField;
 import de.unimarburg.profit.model.Mine;
 import de.unimarburg.profit.model.enums.ResourceType;
 
@@ -15,6 +17,7 @@ public class MineWithResources {
   private final Mine mine;
   private final ResourceType resourceType;
   private final int amount;
+  private final DistanceField depositDistances;
 
   /**
    * Constructor of {@link MineWithResources}.
@@ -24,9 +27,24 @@ public class MineWithResources {
    * @param amount       Amount of Resources the {@link Mine} will produce.
    */
   public MineWithResources(Mine mine, ResourceType resourceType, int amount) {
+    this(mine, resourceType, amount, null);
+  }
+
+  /**
+   * Constructor of {@link MineWithResources}.
+   *
+   * @param mine             {@link Mine}, to which more information is added.
+   * @param resourceType     {@link ResourceType} of the Resources the {@link Mine} produces.
+   * @param amount           Amount of Resources the {@link Mine} will produce.
+   * @param depositDistances {@link DistanceField} of the {@link Deposit} of the {@link Mine},
+   *                         may be null.
+   */
+  public MineWithResources(Mine mine, ResourceType resourceType, int amount,
+      DistanceField depositDistances) {
     this.mine = mine;
     this.resourceType = resourceType;
     this.amount = amount;
+    this.depositDistances = depositDistances;
   }
 
   public Mine getMine() {
@@ -40,4 +58,14 @@ public class MineWithResources {
   public int getAmount() {
     return amount;
   }
+
+  /**
+   * Returns the distances of all cells from the {@link Deposit}, that the {@link Mine} is
+   * connected to.
+   *
+   * @return {@link DistanceField} of the {@link Deposit}, null if it is unknown.
+   */
+  public DistanceField getDepositDistances() {
+    return depositDistances;
+  }
 }
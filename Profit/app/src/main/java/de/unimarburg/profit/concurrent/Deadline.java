@@ -0,0 +1,157 @@
+package de.unimarburg.profit.concurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time, at which a piece of work has to stop. A {@link Deadline} expires, when its time
+ * is up or when it was cancelled. It can be shared between threads and is passed down to every
+ * step of a long running computation, which checks {@link #isExpired()} between small units of
+ * work and stops early.
+ *
+ * <p>A {@link Deadline} created by {@link #within(long)} expires with its parent, so cancelling
+ * the deadline of a whole run also stops all of its shorter phases.</p>
+ *
+ * <p>Threads, that wait for something else, can register a listener, that wakes them up, when the
+ * {@link Deadline} is cancelled, see {@link #addCancelListener(Runnable)}. Its end can be waited
+ * for with a timeout of {@link #remainingNanos()}.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class Deadline {
+
+  /**
+   * End of {@link Deadline}s, that only expire by cancelling.
+   */
+  private static final long NO_END = Long.MAX_VALUE;
+  /**
+   * Longest time of a {@link Deadline} with an end, so the end does not overflow.
+   */
+  private static final long MAX_NANOS = Long.MAX_VALUE / 2;
+
+  private final long endNanos;
+  private final Deadline parent;
+  private final Set<Runnable> cancelListeners;
+  private volatile boolean cancelled;
+
+  private Deadline(long endNanos, Deadline parent) {
+    this.endNanos = endNanos;
+    this.parent = parent;
+    this.cancelListeners = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Creates a {@link Deadline}, that expires after the given time.
+   *
+   * @param millis Time in milliseconds from now on.
+   * @return New {@link Deadline}.
+   */
+  public static Deadline afterMillis(long millis) {
+    return new Deadline(endOf(millis), null);
+  }
+
+  /**
+   * Creates a {@link Deadline}, that only expires if it is cancelled.
+   *
+   * @return New {@link Deadline}.
+   */
+  public static Deadline never() {
+    return new Deadline(NO_END, null);
+  }
+
+  /**
+   * Creates a {@link Deadline}, that expires after the given time, but not after this one.
+   *
+   * @param millis Time in milliseconds from now on.
+   * @return New {@link Deadline}, that also expires, when this one expires.
+   */
+  public Deadline within(long millis) {
+    long end = endOf(millis);
+    if (end == NO_END || endNanos != NO_END && endNanos - end < 0) {
+      end = endNanos;
+    }
+    return new Deadline(end, this);
+  }
+
+  /**
+   * Cancels this {@link Deadline}, so it is expired from now on.
+   */
+  public void cancel() {
+    cancelled = true;
+    cancelListeners.forEach(Runnable::run);
+  }
+
+  /**
+   * Registers a listener, that is run by the thread, that cancels this {@link Deadline} or one of
+   * its parents. A listener, that is added after the cancellation, is not run, so the caller has
+   * to check {@link #isExpired()} after adding it.
+   *
+   * @param listener Listener to run, it has to be short and must not throw.
+   */
+  public void addCancelListener(Runnable listener) {
+    for (Deadline deadline = this; deadline != null; deadline = deadline.parent) {
+      deadline.cancelListeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a listener added by {@link #addCancelListener(Runnable)}.
+   *
+   * @param listener Listener to remove.
+   */
+  public void removeCancelListener(Runnable listener) {
+    for (Deadline deadline = this; deadline != null; deadline = deadline.parent) {
+      deadline.cancelListeners.remove(listener);
+    }
+  }
+
+  /**
+   * Checks, if the time is up or this {@link Deadline} or one of its parents was cancelled.
+   *
+   * @return True if the work has to stop. False otherwise.
+   */
+  public boolean isExpired() {
+    return cancelled || endNanos != NO_END && System.nanoTime() - endNanos >= 0
+        || parent != null && parent.isExpired();
+  }
+
+  /**
+   * Returns the time, that is left until this {@link Deadline} expires.
+   *
+   * @return Remaining time in milliseconds, 0 if it is expired, {@link Long#MAX_VALUE} if it only
+   *     expires by cancelling.
+   */
+  public long remainingMillis() {
+    if (isExpired()) {
+      return 0;
+    }
+    if (endNanos == NO_END) {
+      return parent != null ? parent.remainingMillis() : Long.MAX_VALUE;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(endNanos - System.nanoTime());
+  }
+
+  /**
+   * Returns the time, that is left until this {@link Deadline} expires, like
+   * {@link #remainingMillis()}.
+   *
+   * @return Remaining time in nanoseconds, 0 if it is expired, {@link Long#MAX_VALUE} if it only
+   *     expires by cancelling.
+   */
+  public long remainingNanos() {
+    if (isExpired()) {
+      return 0;
+    }
+    if (endNanos == NO_END) {
+      return parent != null ? parent.remainingNanos() : Long.MAX_VALUE;
+    }
+    return Math.max(0, endNanos - System.nanoTime());
+  }
+
+  private static long endOf(long millis) {
+    long nanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    // Times are compared by their difference, as recommended by System.nanoTime().
+    return nanos > MAX_NANOS ? NO_END : System.nanoTime() + nanos;
+  }
+}
@@ -0,0 +1,190 @@
+package de.unimarburg.profit.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs the tasks of one run on an {@link Executor}, with a bounded number of pending tasks. A task
+ * is pending from its submission until it has finished. If the bound is reached, the submitting
+ * thread is blocked until a task has finished or the {@link Deadline} of the submission expires.
+ * So it cannot produce work faster than it is done, but still stops as soon as its
+ * {@link Deadline} expires, also if it is cancelled.
+ *
+ * <p>A task, that has not started when the {@link Deadline} of its submission expires, is
+ * completed with a {@link CancellationException} without being run. Tasks, that are submitted by
+ * {@link #submitAfter(Collection, Runnable, Deadline)}, are started until the {@link Deadline} of
+ * the scheduler expires instead, so they can still handle the results of their dependencies.
+ * Running tasks are expected to check their {@link Deadline} themselves.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class TaskScheduler {
+
+  private final Executor executor;
+  private final Deadline deadline;
+  private final int maxPendingTasks;
+  private final ReentrantLock lock;
+  private final Condition changed;
+  private int pendingTasks;
+
+  /**
+   * Constructor of {@link TaskScheduler}.
+   *
+   * @param executor        {@link Executor}, that runs the tasks.
+   * @param maxPendingTasks Largest number of tasks, that are pending at the same time.
+   * @param deadline        {@link Deadline}, after which no task is started.
+   */
+  public TaskScheduler(Executor executor, int maxPendingTasks, Deadline deadline) {
+    if (maxPendingTasks < 1) {
+      throw new IllegalArgumentException("At least one task has to be able to run.");
+    }
+    this.executor = executor;
+    this.deadline = deadline;
+    this.maxPendingTasks = maxPendingTasks;
+    this.lock = new ReentrantLock();
+    this.changed = lock.newCondition();
+  }
+
+  /**
+   * Submits a task. Blocks while the maximal number of tasks is pending.
+   *
+   * @param task     Task to run.
+   * @param deadline {@link Deadline}, after which the submitting thread stops waiting and the task
+   *                 is not started anymore.
+   * @param <T>      Type of the result.
+   * @return {@link CompletableFuture} of the result. It completes with a
+   *     {@link CancellationException}, if one of the {@link Deadline}s expired before the task was
+   *     started.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task, Deadline deadline) {
+    if (!acquire(deadline)) {
+      return CompletableFuture.failedFuture(new CancellationException());
+    }
+    return run(CompletableFuture.completedFuture(null), task, deadline);
+  }
+
+  /**
+   * Submits a task, that is started after all given {@link CompletableFuture}s have completed,
+   * either normally or exceptionally. Blocks while the maximal number of tasks is pending. The
+   * task is started until the {@link Deadline} of the scheduler expires, also if the given one
+   * expired in the meantime.
+   *
+   * @param dependencies {@link CompletableFuture}s, that have to complete first.
+   * @param task         Task to run.
+   * @param deadline     {@link Deadline}, after which the submitting thread stops waiting.
+   * @return {@link CompletableFuture}, that completes after the task. It completes with a
+   *     {@link CancellationException}, if the task was not started.
+   */
+  public CompletableFuture<Void> submitAfter(
+      Collection<? extends CompletableFuture<?>> dependencies, Runnable task, Deadline deadline) {
+    if (!acquire(deadline)) {
+      return CompletableFuture.failedFuture(new CancellationException());
+    }
+    CompletableFuture<Void> all = CompletableFuture.allOf(
+        dependencies.toArray(new CompletableFuture<?>[0])).exceptionally(throwable -> null);
+    return run(all, () -> {
+      task.run();
+      return null;
+    }, this.deadline);
+  }
+
+  /**
+   * Blocks until no task is pending anymore, but at most the given time. Use it after the
+   * {@link Deadline}s of the submissions expired, to collect the results of the tasks, that were
+   * running.
+   *
+   * @param millis Longest time to wait in milliseconds.
+   * @return True if no task is pending. False if the time was up before.
+   * @throws InterruptedException If the thread was interrupted while waiting.
+   */
+  public boolean awaitIdle(long millis) throws InterruptedException {
+    long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    lock.lock();
+    try {
+      while (pendingTasks > 0) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = changed.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <T> CompletableFuture<T> run(CompletableFuture<?> trigger, Supplier<T> task,
+      Deadline startDeadline) {
+    CompletableFuture<T> future;
+    try {
+      future = trigger.thenApplyAsync(unused -> {
+        if (startDeadline.isExpired() || deadline.isExpired()) {
+          throw new CancellationException();
+        }
+        return task.get();
+      }, executor);
+    } catch (RuntimeException e) {
+      // The executor rejected the task.
+      release();
+      throw e;
+    }
+    future.whenComplete((result, throwable) -> release());
+    return future;
+  }
+
+  /**
+   * Takes one of the pending places. Waits until a place is free or the given {@link Deadline}
+   * expired. The waiting thread is woken up by a finished task, by the end of the
+   * {@link Deadline} or by its cancellation.
+   */
+  private boolean acquire(Deadline deadline) {
+    Runnable wakeUp = this::signalChanged;
+    deadline.addCancelListener(wakeUp);
+    lock.lock();
+    try {
+      while (pendingTasks >= maxPendingTasks) {
+        long nanos = deadline.remainingNanos();
+        if (nanos <= 0) {
+          return false;
+        }
+        changed.awaitNanos(nanos);
+      }
+      if (deadline.isExpired()) {
+        return false;
+      }
+      pendingTasks++;
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      lock.unlock();
+      deadline.removeCancelListener(wakeUp);
+    }
+  }
+
+  private void release() {
+    lock.lock();
+    try {
+      pendingTasks--;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void signalChanged() {
+    lock.lock();
+    try {
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -11,32 +11,48 @@ public abstract class BaseObject implements Worker {
 
   private final int horPos;
   private final int verPos;
-  private final Tile[] tiles;
+  private final ShapeTemplate shape;
 
   /**
    * Constructor of {@link BaseObject}.
    *
    * @param horPos X-Coordinate of the {@link BaseObject}.
    * @param verPos Y-Coordinate of the {@link BaseObject}.
-   * @param tiles  Tiles, that construct the {@link BaseObject}.
+   * @param shape  Shape of the {@link BaseObject}, which may be shared with other objects.
    */
-  public BaseObject(int horPos, int verPos, Tile[] tiles) {
+  public BaseObject(int horPos, int verPos, ShapeTemplate shape) {
     this.horPos = horPos;
     this.verPos = verPos;
-    this.tiles = tiles;
-    for (Tile tile : tiles) {
-      tile.setObject(this);
-    }
+    this.shape = shape;
   }
 
   /**
-   * Returns all {@link Tile} from this {@link BaseObject}.
+   * Returns all {@link Tile} from this {@link BaseObject}. The array is a copy, use
+   * {@link ShapeTemplate#getTiles()} of {@link #getShape()} to read the shared {@link Tile}s
+   * without copying them.
    *
    * @return Tiles, that construct the {@link BaseObject}.
    */
   @Override
   public Tile[] getTiles() {
-    return tiles;
+    return shape.tiles().clone();
+  }
+
+  /**
+   * Returns the {@link Tile}s of this {@link BaseObject} without copying them. The array is shared
+   * with all objects of the same shape and must not be modified.
+   */
+  Tile[] tiles() {
+    return shape.tiles();
+  }
+
+  /**
+   * Returns the shape of this {@link BaseObject}.
+   *
+   * @return {@link ShapeTemplate} of the {@link BaseObject}.
+   */
+  public ShapeTemplate getShape() {
+    return shape;
   }
 
   /**
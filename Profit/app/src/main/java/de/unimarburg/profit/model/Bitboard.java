@@ -0,0 +1,76 @@
+package de.unimarburg.profit.model;
+
+import java.util.Arrays;
+
+/**
+ * A set of positions on a {@link Field}, stored as one bit per position. The area of the
+ * {@link Field} is surrounded by a margin of {@link ShapeTemplate#MAX_OFFSET} positions, so
+ * positions of objects, whose position is outside of the {@link Field}, are covered as well and
+ * shifting a {@link Bitboard} by the offset of a {@link Tile} never wraps into another row.
+ *
+ * @author Yannick Kraml
+ */
+public final class Bitboard {
+
+  private static final int MARGIN = ShapeTemplate.MAX_OFFSET;
+
+  private final int width;
+  private final int height;
+  private final int stride;
+  private final long[] words;
+
+  Bitboard(int width, int height, boolean filled) {
+    this.width = width;
+    this.height = height;
+    this.stride = width + 2 * MARGIN;
+    this.words = new long[(stride * (height + 2 * MARGIN) + Long.SIZE - 1) / Long.SIZE];
+    if (filled) {
+      Arrays.fill(words, -1L);
+    }
+  }
+
+  /**
+   * Checks if the given position is part of this set.
+   *
+   * @param x X-Coordinate of the position.
+   * @param y Y-Coordinate of the position.
+   * @return True if the position is part of this set. False otherwise.
+   */
+  public boolean contains(int x, int y) {
+    if (x < -MARGIN || y < -MARGIN || x >= width + MARGIN || y >= height + MARGIN) {
+      return false;
+    }
+    int index = indexOf(x, y);
+    return (words[index >>> 6] & 1L << index) != 0;
+  }
+
+  void set(int x, int y) {
+    int index = indexOf(x, y);
+    words[index >>> 6] |= 1L << index;
+  }
+
+  /**
+   * Keeps a position p of this set only, if the position p + (horOffset, verOffset) is part of
+   * the other set. Both sets have to belong to {@link Field}s of the same size.
+   */
+  void retainShifted(Bitboard other, int horOffset, int verOffset) {
+    int offset = verOffset * stride + horOffset;
+    int wordShift = Math.floorDiv(offset, Long.SIZE);
+    int bitShift = Math.floorMod(offset, Long.SIZE);
+    for (int i = 0; i < words.length; i++) {
+      long low = other.wordAt(i + wordShift);
+      if (bitShift != 0) {
+        low = low >>> bitShift | other.wordAt(i + wordShift + 1) << Long.SIZE - bitShift;
+      }
+      words[i] &= low;
+    }
+  }
+
+  private long wordAt(int i) {
+    return i >= 0 && i < words.length ? words[i] : 0L;
+  }
+
+  private int indexOf(int x, int y) {
+    return (y + MARGIN) * stride + x + MARGIN;
+  }
+}
@@ -1,9 +1,7 @@
 package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.CombinerSubType;
-import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.Map;
 
 /**
  * This class models a {@link Combiner}.
@@ -19,11 +17,11 @@ public class Combiner extends MovableObject {
    *
    * @param horPos X-Coordinate of the {@link Combiner}.
    * @param verPos Y-Coordinate of the {@link Combiner}.
-   * @param tiles  Tiles, that construct the {@link Combiner}.
+   * @param shape  Shape of the {@link Combiner}.
    */
-  private Combiner(int horPos, int verPos, Tile[] tiles, MovableObjectType type,
+  private Combiner(int horPos, int verPos, ShapeTemplate shape, MovableObjectType type,
       CombinerSubType subType) {
-    super(horPos, verPos, tiles, type);
+    super(horPos, verPos, shape, type);
     this.subType = subType;
   }
 
@@ -36,7 +34,18 @@ public class Combiner extends MovableObject {
    * @return New instance of {@link Combiner}.
    */
   public static Combiner createCombiner(int horPos, int verPos, CombinerSubType subtype) {
+    return new Combiner(horPos, verPos, ShapeTemplate.ofCombiner(subtype),
+        MovableObjectType.COMBINER, subtype);
+  }
 
+  /**
+   * Creates the {@link Tile}s of a {@link Combiner} with the given subtype. The {@link Tile}s are
+   * created once per subtype and shared by all {@link Combiner}s, see {@link ShapeTemplate}.
+   *
+   * @param subtype Subtype of the {@link Combiner}.
+   * @return {@link Tile}s of the {@link Combiner}.
+   */
+  static Tile[] createTiles(CombinerSubType subtype) {
     Tile[] tiles;
     switch (subtype) {
 
@@ -79,15 +88,19 @@ public class Combiner extends MovableObject {
       default -> throw new RuntimeException("Unknown branch.");
     }
 
-    return new Combiner(horPos, verPos, tiles, MovableObjectType.COMBINER, subtype);
+    return tiles;
   }
 
   @Override
-  public Map<ResourceType, Integer> getResourcesToOutput(
-      Map<ResourceType, Integer> storedResources) {
+  public ResourceVector getResourcesToOutput(ResourceVector storedResources) {
     return storedResources;
   }
 
+  @Override
+  public int getOutputLimit() {
+    return Integer.MAX_VALUE;
+  }
+
   public CombinerSubType getSubType() {
     return this.subType;
   }
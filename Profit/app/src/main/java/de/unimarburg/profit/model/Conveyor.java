@@ -1,9 +1,7 @@
 package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.ConveyorSubType;
-import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.Map;
 
 /**
  * This class models a {@link Conveyor}.
@@ -20,11 +18,11 @@ public class Conveyor extends MovableObject {
    *
    * @param horPos X-Coordinate of the {@link Conveyor}.
    * @param verPos Y-Coordinate of the {@link Conveyor}.
-   * @param tiles  Tiles, that construct the {@link Conveyor}.
+   * @param shape  Shape of the {@link Conveyor}.
    */
-  private Conveyor(int horPos, int verPos, Tile[] tiles, MovableObjectType type,
+  private Conveyor(int horPos, int verPos, ShapeTemplate shape, MovableObjectType type,
       ConveyorSubType subType) {
-    super(horPos, verPos, tiles, type);
+    super(horPos, verPos, shape, type);
     this.subType = subType;
   }
 
@@ -37,7 +35,18 @@ public class Conveyor extends MovableObject {
    * @return New instance of a {@link Conveyor}.
    */
   public static Conveyor createConveyor(int horPos, int verPos, ConveyorSubType subtype) {
+    return new Conveyor(horPos, verPos, ShapeTemplate.ofConveyor(subtype),
+        MovableObjectType.CONVEYER, subtype);
+  }
 
+  /**
+   * Creates the {@link Tile}s of a {@link Conveyor} with the given subtype. The {@link Tile}s are
+   * created once per subtype and shared by all {@link Conveyor}s, see {@link ShapeTemplate}.
+   *
+   * @param subtype Subtype of the {@link Conveyor}.
+   * @return {@link Tile}s of the {@link Conveyor}.
+   */
+  static Tile[] createTiles(ConveyorSubType subtype) {
     Tile[] tiles;
     switch (subtype) {
 
@@ -88,7 +97,7 @@ public class Conveyor extends MovableObject {
       default -> throw new RuntimeException("Unknown branch.");
     }
 
-    return new Conveyor(horPos, verPos, tiles, MovableObjectType.CONVEYER, subtype);
+    return tiles;
   }
 
   public Factory getConnectedFactory() {
@@ -100,17 +109,36 @@ public class Conveyor extends MovableObject {
   }
 
   @Override
-  public Map<ResourceType, Integer> getResourcesToOutput(
-      Map<ResourceType, Integer> storedResources) {
+  public ResourceVector getResourcesToOutput(ResourceVector storedResources) {
     return storedResources;
   }
 
+  @Override
+  public int getOutputLimit() {
+    return Integer.MAX_VALUE;
+  }
+
   public ConveyorSubType getSubType() {
     return this.subType;
   }
 
+  /**
+   * Two {@link Conveyor}s are equal, if they have the same position and {@link ConveyorSubType}.
+   * The connected {@link Factory} is not part of the comparison, because it is changed after the
+   * {@link Conveyor} is placed.
+   */
   @Override
   public boolean equals(Object obj) {
-    return super.equals(obj);
+    if (obj == null || obj.getClass() != Conveyor.class) {
+      return false;
+    }
+    var lhs = (Conveyor) obj;
+    return this.getX() == lhs.getX() && this.getY() == lhs.getY()
+        && this.getSubType() == lhs.getSubType();
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * getX() + getY()) + subType.ordinal();
   }
 }
@@ -0,0 +1,191 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.TileType;
+import java.util.Arrays;
+
+/**
+ * All moves of a {@link Conveyor} on a {@link Field}: for every cell the {@link Conveyor}s, that
+ * have their input at this cell and do not cover a {@link FixedObject} or leave the
+ * {@link Field}. The moves are stored as a compressed sparse row graph, ordered by the cell of the
+ * input and then by the {@link ConveyorSubType}.
+ *
+ * <p>Because the {@link FixedObject}s never change while a task is solved, the graph is computed
+ * once and shared by all copies of the {@link Field} and all threads, see
+ * {@link Field#getConveyorGraph()}. Whether a move is still possible after other objects were
+ * placed, has to be checked on top of it, for example with {@link PlacementMasks}.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class ConveyorGraph {
+
+  private static final ConveyorSubType[] SUB_TYPES = ConveyorSubType.values();
+
+  private final int width;
+  private final int height;
+  /**
+   * Moves of the cell c are the indices from {@code firstMoves[c]} to {@code firstMoves[c + 1]}.
+   */
+  private final int[] firstMoves;
+  /**
+   * Bit i is set, if the cell has a move of the {@link ConveyorSubType} with ordinal i.
+   */
+  private final byte[] subTypeMasks;
+  private final byte[] subTypes;
+  private final int[] outputs;
+
+  private ConveyorGraph(int width, int height, int[] firstMoves, byte[] subTypeMasks,
+      byte[] subTypes, int[] outputs) {
+    this.width = width;
+    this.height = height;
+    this.firstMoves = firstMoves;
+    this.subTypeMasks = subTypeMasks;
+    this.subTypes = subTypes;
+    this.outputs = outputs;
+  }
+
+  /**
+   * Computes the {@link ConveyorGraph} of the {@link FixedObject}s on the given {@link Field}. Use
+   * {@link Field#getConveyorGraph()} to share it between copies of the {@link Field}.
+   *
+   * @param field {@link Field}, whose {@link FixedObject}s block the moves.
+   * @return {@link ConveyorGraph} of the {@link Field}.
+   */
+  static ConveyorGraph of(Field field) {
+    int width = field.getWidth();
+    int height = field.getHeight();
+    boolean[] blocked = field.getFixedObjectCells();
+
+    int[] firstMoves = new int[width * height + 1];
+    byte[] subTypeMasks = new byte[width * height];
+    byte[] subTypes = new byte[width * height * SUB_TYPES.length];
+    int[] outputs = new int[subTypes.length];
+    int moveCount = 0;
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int cell = y * width + x;
+        firstMoves[cell] = moveCount;
+        for (ConveyorSubType subType : SUB_TYPES) {
+          int output = outputOfMove(field, blocked, x, y, ShapeTemplate.ofConveyor(subType));
+          if (output >= 0) {
+            subTypeMasks[cell] |= (byte) (1 << subType.ordinal());
+            subTypes[moveCount] = (byte) subType.ordinal();
+            outputs[moveCount] = output;
+            moveCount++;
+          }
+        }
+      }
+    }
+    firstMoves[width * height] = moveCount;
+    return new ConveyorGraph(width, height, firstMoves, subTypeMasks,
+        Arrays.copyOf(subTypes, moveCount), Arrays.copyOf(outputs, moveCount));
+  }
+
+  /**
+   * Returns the index of the first move, whose input is at the given cell. The moves of a cell
+   * are the indices from {@code firstMove(x, y)} to {@code endOfMoves(x, y)}.
+   *
+   * @param x X-Coordinate of the input.
+   * @param y Y-Coordinate of the input.
+   * @return Index of the first move of the cell.
+   */
+  public int firstMove(int x, int y) {
+    return isInside(x, y) ? firstMoves[y * width + x] : 0;
+  }
+
+  /**
+   * Returns the index after the last move, whose input is at the given cell.
+   *
+   * @param x X-Coordinate of the input.
+   * @param y Y-Coordinate of the input.
+   * @return Index after the last move of the cell.
+   */
+  public int endOfMoves(int x, int y) {
+    return isInside(x, y) ? firstMoves[y * width + x + 1] : 0;
+  }
+
+  /**
+   * Checks if a {@link Conveyor} of the given {@link ConveyorSubType} with its input at the given
+   * cell is a move of this graph.
+   *
+   * @param x       X-Coordinate of the input.
+   * @param y       Y-Coordinate of the input.
+   * @param subType {@link ConveyorSubType} of the {@link Conveyor}.
+   * @return True if the move exists. False otherwise.
+   */
+  public boolean hasMove(int x, int y, ConveyorSubType subType) {
+    return isInside(x, y) && (subTypeMasks[y * width + x] & 1 << subType.ordinal()) != 0;
+  }
+
+  public ConveyorSubType getSubType(int move) {
+    return SUB_TYPES[subTypes[move]];
+  }
+
+  public int getOutputX(int move) {
+    return outputs[move] % width;
+  }
+
+  public int getOutputY(int move) {
+    return outputs[move] / width;
+  }
+
+  /**
+   * Returns the position of the {@link Conveyor} of the given move, which is the position of the
+   * output minus the offset of the output {@link Tile}.
+   *
+   * @param move Index of the move.
+   * @return X-Coordinate of the {@link Conveyor}.
+   */
+  public int getConveyorX(int move) {
+    ShapeTemplate template = ShapeTemplate.ofConveyor(getSubType(move));
+    return getOutputX(move) - template.getHorOffset(indexOf(template, TileType.OUTPUT));
+  }
+
+  /**
+   * Returns the position of the {@link Conveyor} of the given move, which is the position of the
+   * output minus the offset of the output {@link Tile}.
+   *
+   * @param move Index of the move.
+   * @return Y-Coordinate of the {@link Conveyor}.
+   */
+  public int getConveyorY(int move) {
+    ShapeTemplate template = ShapeTemplate.ofConveyor(getSubType(move));
+    return getOutputY(move) - template.getVerOffset(indexOf(template, TileType.OUTPUT));
+  }
+
+  private boolean isInside(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  /**
+   * Returns the cell of the output of the {@link Conveyor} with the given shape and its input at
+   * (x, y), -1 if it leaves the {@link Field} or covers a {@link FixedObject}.
+   */
+  private static int outputOfMove(Field field, boolean[] blocked, int x, int y,
+      ShapeTemplate template) {
+    int input = indexOf(template, TileType.INPUT);
+    int conveyorX = x - template.getHorOffset(input);
+    int conveyorY = y - template.getVerOffset(input);
+    int output = -1;
+    for (int i = 0; i < template.getTileCount(); i++) {
+      int tileX = conveyorX + template.getHorOffset(i);
+      int tileY = conveyorY + template.getVerOffset(i);
+      if (!field.isInside(tileX, tileY) || blocked[tileY * field.getWidth() + tileX]) {
+        return -1;
+      }
+      if (template.getType(i) == TileType.OUTPUT) {
+        output = tileY * field.getWidth() + tileX;
+      }
+    }
+    return output;
+  }
+
+  private static int indexOf(ShapeTemplate template, TileType type) {
+    for (int i = 0; i < template.getTileCount(); i++) {
+      if (template.getType(i) == type) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Shape has no tile of type " + type + ".");
+  }
+}
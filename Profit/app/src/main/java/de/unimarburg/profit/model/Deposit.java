@@ -2,8 +2,6 @@ package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * This class models {@link Deposit}.
@@ -12,6 +10,8 @@ import java.util.Map;
  */
 public class Deposit extends FixedObject {
 
+  private static final int MAX_OUTPUT_PER_TURN = 3;
+
   private final ResourceType resourceType;
 
   /**
@@ -70,24 +70,19 @@ public class Deposit extends FixedObject {
   }
 
   @Override
-  public Map<ResourceType, Integer> getStartResources() {
-    Map<ResourceType, Integer> resources = new HashMap<>();
+  public ResourceVector getStartResources() {
     int startAmount = getHeight() * getWidth() * 5;
-    resources.put(resourceType, startAmount);
-    return resources;
+    return ResourceVector.of(resourceType, startAmount);
   }
 
   @Override
-  public Map<ResourceType, Integer> getResourcesToOutput(
-      Map<ResourceType, Integer> storedResources) {
-
-    if (!storedResources.containsKey(resourceType)) {
-      return new HashMap<>();
-    }
-
-    Map<ResourceType, Integer> resourcesToOutput = new HashMap<>();
-    resourcesToOutput.put(resourceType, Math.min(storedResources.get(resourceType), 3));
+  public ResourceVector getResourcesToOutput(ResourceVector storedResources) {
+    return ResourceVector.of(resourceType,
+        Math.min(storedResources.get(resourceType), MAX_OUTPUT_PER_TURN));
+  }
 
-    return resourcesToOutput;
+  @Override
+  public int getOutputLimit() {
+    return MAX_OUTPUT_PER_TURN;
   }
 }
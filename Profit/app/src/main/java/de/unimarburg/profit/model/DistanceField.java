@@ -0,0 +1,56 @@
+package de.unimarburg.profit.model;
+
+/**
+ * Distances of all cells of a {@link Field} from a set of sources, measured in steps between
+ * neighboring cells, that are not covered by a {@link FixedObject}. A {@link DistanceField} is
+ * immutable and can be shared between threads.
+ *
+ * @author Yannick Kraml
+ */
+public final class DistanceField {
+
+  /**
+   * Distance of cells, that cannot be reached from any source.
+   */
+  public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+  private final int width;
+  private final int height;
+  private final int[] distances;
+
+  DistanceField(int width, int height, int[] distances) {
+    this.width = width;
+    this.height = height;
+    this.distances = distances;
+  }
+
+  /**
+   * Returns the distance of the given cell.
+   *
+   * @param x X-Coordinate of the cell.
+   * @param y Y-Coordinate of the cell.
+   * @return Distance of the cell, {@link #UNREACHABLE} if it cannot be reached or is outside of
+   *     the {@link Field}.
+   */
+  public int getDistance(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return UNREACHABLE;
+    }
+    return distances[y * width + x];
+  }
+
+  /**
+   * Returns the smallest distance of all cells covered by the given object.
+   *
+   * @param o {@link BaseObject}, whose distance is returned.
+   * @return Distance of the object, {@link #UNREACHABLE} if no cell of it can be reached.
+   */
+  public int getDistance(BaseObject o) {
+    int distance = UNREACHABLE;
+    for (Tile tile : o.tiles()) {
+      distance = Math.min(distance,
+          getDistance(o.getX() + tile.getRelHorPos(), o.getY() + tile.getRelVerPos()));
+    }
+    return distance;
+  }
+}
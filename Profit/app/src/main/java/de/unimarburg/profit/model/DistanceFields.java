@@ -0,0 +1,116 @@
+package de.unimarburg.profit.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link DistanceField}s of all {@link Deposit}s of a {@link Field}. Only the
+ * {@link FixedObject}s block a path, because they never change while a task is solved. So the
+ * fields are computed once, by one breadth-first search per {@link Deposit}, and are shared by
+ * all copies of the {@link Field} and all threads.
+ *
+ * @author Yannick Kraml
+ */
+public final class DistanceFields {
+
+  private static final int[] NEIGHBOR_X = {0, 1, 0, -1};
+  private static final int[] NEIGHBOR_Y = {-1, 0, 1, 0};
+
+  private final Map<Deposit, DistanceField> deposits;
+  private final DistanceField nearestDeposit;
+
+  private DistanceFields(Map<Deposit, DistanceField> deposits, DistanceField nearestDeposit) {
+    this.deposits = deposits;
+    this.nearestDeposit = nearestDeposit;
+  }
+
+  /**
+   * Computes the {@link DistanceFields} of the {@link FixedObject}s on the given {@link Field}.
+   * Use {@link Field#getDistanceFields()} to share them between copies of the {@link Field}.
+   *
+   * @param field {@link Field}, whose {@link Deposit}s are the sources.
+   * @return {@link DistanceFields} of the {@link Field}.
+   */
+  static DistanceFields of(Field field) {
+    int width = field.getWidth();
+    int height = field.getHeight();
+    boolean[] blocked = field.getFixedObjectCells();
+
+    Collection<Deposit> allDeposits = field.getObjectsOfClassView(Deposit.class);
+    Map<Deposit, DistanceField> deposits = new IdentityHashMap<>();
+    for (Deposit deposit : allDeposits) {
+      deposits.put(deposit, search(width, height, blocked, List.of(deposit)));
+    }
+    return new DistanceFields(deposits, search(width, height, blocked, allDeposits));
+  }
+
+  /**
+   * Returns the {@link DistanceField} of the given {@link Deposit}. The cells next to the
+   * {@link Deposit} have distance 1.
+   *
+   * @param deposit {@link Deposit} of the {@link Field}.
+   * @return {@link DistanceField} of the {@link Deposit}, null if it is not part of the
+   *     {@link Field}.
+   */
+  public DistanceField get(Deposit deposit) {
+    return deposits.get(deposit);
+  }
+
+  /**
+   * Returns the {@link DistanceField} of the nearest {@link Deposit} of every cell.
+   *
+   * @return {@link DistanceField} of all {@link Deposit}s.
+   */
+  public DistanceField getNearestDeposit() {
+    return nearestDeposit;
+  }
+
+  private static DistanceField search(int width, int height, boolean[] blocked,
+      Collection<Deposit> sources) {
+    int[] distances = new int[width * height];
+    Arrays.fill(distances, DistanceField.UNREACHABLE);
+    int[] queue = new int[width * height];
+    int tail = 0;
+
+    for (Deposit deposit : sources) {
+      for (Tile tile : deposit.tiles()) {
+        int x = deposit.getX() + tile.getRelHorPos();
+        int y = deposit.getY() + tile.getRelVerPos();
+        for (int d = 0; d < NEIGHBOR_X.length; d++) {
+          int cell = cellOf(width, height, blocked, x + NEIGHBOR_X[d], y + NEIGHBOR_Y[d]);
+          if (cell >= 0 && distances[cell] == DistanceField.UNREACHABLE) {
+            distances[cell] = 1;
+            queue[tail++] = cell;
+          }
+        }
+      }
+    }
+
+    for (int head = 0; head < tail; head++) {
+      int cell = queue[head];
+      int x = cell % width;
+      int y = cell / width;
+      for (int d = 0; d < NEIGHBOR_X.length; d++) {
+        int next = cellOf(width, height, blocked, x + NEIGHBOR_X[d], y + NEIGHBOR_Y[d]);
+        if (next >= 0 && distances[next] == DistanceField.UNREACHABLE) {
+          distances[next] = distances[cell] + 1;
+          queue[tail++] = next;
+        }
+      }
+    }
+    return new DistanceField(width, height, distances);
+  }
+
+  /**
+   * Returns the index of the given cell, -1 if it is outside of the {@link Field} or blocked.
+   */
+  private static int cellOf(int width, int height, boolean[] blocked, int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height || blocked[y * width + x]) {
+      return -1;
+    }
+    return y * width + x;
+  }
+}
@@ -1,11 +1,7 @@
 package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.ProductType;
-import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * This class models a {@link Factory}.
@@ -21,16 +17,17 @@ public class Factory extends MovableObject {
    *
    * @param horPos  X-Coordinate of {@link Factory}.
    * @param verPos  Y-Coordinate of {@link Factory}.
-   * @param tiles   Tiles, that construct the {@link Factory}.
+   * @param shape   Shape of the {@link Factory}.
    * @param product {@link Product} that is produces by the {@link Factory}.
    */
-  private Factory(int horPos, int verPos, Tile[] tiles, Product product, MovableObjectType type) {
-    super(horPos, verPos, tiles, type);
+  private Factory(int horPos, int verPos, ShapeTemplate shape, Product product,
+      MovableObjectType type) {
+    super(horPos, verPos, shape, type);
     this.product = product;
   }
 
   public Factory(int horPos, int verPos, Tile[] tiles, MovableObjectType type) {
-    super(horPos, verPos, tiles, type);
+    super(horPos, verPos, ShapeTemplate.of(tiles), type);
   }
 
 
@@ -47,8 +44,8 @@ public class Factory extends MovableObject {
    * @return New instance of {@link Factory}.
    */
   public static Factory createFactoryWithProduct(int horPos, int verPos, Product product) {
-    Tile[] tiles = createTilesArray();
-    return new Factory(horPos, verPos, tiles, product, MovableObjectType.FACTORY);
+    return new Factory(horPos, verPos, ShapeTemplate.ofFactory(), product,
+        MovableObjectType.FACTORY);
   }
 
   /**
@@ -59,8 +56,7 @@ public class Factory extends MovableObject {
    * @return New instance of {@link Factory}.
    */
   public static Factory createFactoryWithoutProduct(int horPos, int verPos) {
-    Tile[] tiles = createTilesArray();
-    return new Factory(horPos, verPos, tiles, MovableObjectType.FACTORY);
+    return new Factory(horPos, verPos, ShapeTemplate.ofFactory(), null, MovableObjectType.FACTORY);
   }
 
   public Product getProduct() {
@@ -68,62 +64,23 @@ public class Factory extends MovableObject {
   }
 
   @Override
-  public int doWorkForPoints(Map<ResourceType, Integer> storedResources) {
-    int points = 0;
-
-    boolean addedPoints = true;
-    while (addedPoints) {
-      addedPoints = false;
-
-      Map<ResourceType, Integer> neededResourcesMap = new HashMap<>();
-      product.getNeededResources().forEach((resourceType, integer) -> {
-        if (integer != 0) {
-          neededResourcesMap.put(resourceType, integer);
-        }
-      });
-
-      //Check if neededResources are present.
-      boolean willProduce = true;
-      for (Entry<ResourceType, Integer> entry : neededResourcesMap.entrySet()) {
-        Integer amountNeeded = entry.getValue();
-        ResourceType typeNeeded = entry.getKey();
-
-        if (!storedResources.containsKey(typeNeeded)) {
-          willProduce = false;
-          break;
-        }
-
-        Integer storedAmount = storedResources.get(typeNeeded);
-        if (amountNeeded > storedAmount) {
-          willProduce = false;
-          break;
-        }
-      }
-
-      //Remove needed resources and add points.
-      if (willProduce) {
-
-        for (Entry<ResourceType, Integer> entry : neededResourcesMap.entrySet()) {
-          Integer amountNeeded = entry.getValue();
-          ResourceType typeNeeded = entry.getKey();
-
-          Integer oldAmount = storedResources.get(typeNeeded);
-          storedResources.put(typeNeeded, oldAmount - amountNeeded);
-        }
-
-        points += product.getPoints();
-        addedPoints = true;
-      }
+  public int doWorkForPoints(ResourceVector storedResources) {
+    ResourceVector recipe = product.getNeededResources();
+    if (recipe.isEmpty()) {
+      return 0;
     }
 
-    return points;
+    //Produce as many units as the stored resources allow.
+    int units = storedResources.countUnits(recipe);
+    storedResources.subtract(recipe, units);
+    return units * product.getPoints();
   }
 
   public ProductType getSubType() {
     return this.product.getType();
   }
 
-  private static Tile[] createTilesArray() {
+  static Tile[] createTilesArray() {
     return new Tile[]{new Tile(0, 0, TileType.INPUT), new Tile(1, 0, TileType.INPUT),
         new Tile(2, 0, TileType.INPUT), new Tile(3, 0, TileType.INPUT),
         new Tile(4, 0, TileType.INPUT), new Tile(0, 1, TileType.INPUT),
@@ -138,4 +95,22 @@ public class Factory extends MovableObject {
         new Tile(2, 4, TileType.INPUT), new Tile(3, 4, TileType.INPUT),
         new Tile(4, 4, TileType.INPUT)};
   }
+
+  /**
+   * Two {@link Factory}s are equal, if they have the same position. The {@link Product} is not part
+   * of the comparison, because it is set after the {@link Factory} is placed.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == null || obj.getClass() != Factory.class) {
+      return false;
+    }
+    var lhs = (Factory) obj;
+    return this.getX() == lhs.getX() && this.getY() == lhs.getY();
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * getX() + getY();
+  }
 }
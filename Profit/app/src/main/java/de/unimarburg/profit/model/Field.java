@@ -4,14 +4,20 @@ import de.unimarburg.profit.model.enums.TileType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
 import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
 import de.unimarburg.profit.view.FieldFrame;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class models {@link Field}.
@@ -20,10 +26,125 @@ import java.util.Objects;
  */
 public class Field {
 
-  private final Map<Class<? extends BaseObject>, Collection<BaseObject>> objects;
+  private static final TileType[] TILE_TYPES = TileType.values();
+  private static final byte EMPTY = (byte) TileType.EMPTY.ordinal();
+  private static final byte CROSSABLE = (byte) TileType.CROSSABLE.ordinal();
+  private static final byte INPUT = (byte) TileType.INPUT.ordinal();
+  private static final byte OUTPUT = (byte) TileType.OUTPUT.ordinal();
+  private static final byte MINE_INPUT = (byte) TileType.MINE_INPUT.ordinal();
+  private static final byte DEPOSIT_OUTPUT = (byte) TileType.DEPOSIT_OUTPUT.ordinal();
+  private static final Tile EMPTY_TILE = new Tile(0, 0, TileType.EMPTY);
+  private static final int NO_OWNER = 0;
+  private static final int[] NEIGHBOR_X = {0, 1, 0, -1};
+  private static final int[] NEIGHBOR_Y = {-1, 0, 1, 0};
+  private static final int BLOCK_BITS = 3;
+  private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+  private static final int BLOCK_CELLS = 1 << 2 * BLOCK_BITS;
+  private static final byte[] EMPTY_TYPE_BLOCK = new byte[BLOCK_CELLS];
+  private static final int[] EMPTY_OWNER_BLOCK = new int[BLOCK_CELLS];
+  private static final int[] EMPTY_NEIGHBOR_BLOCK = new int[BLOCK_CELLS];
+
+  /*
+   * Every cell counts its neighbors of the types, that restrict the tiles placed next to them, in
+   * 3 bits per type. CONSUMED counts the neighboring outputs, that already have an input next to
+   * them. So every rule of tileCanBePlaced is a bit test on the counts of the cell.
+   */
+  private static final int COUNT_BITS = 3;
+  private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+  private static final int INPUT_SHIFT = 0;
+  private static final int MINE_INPUT_SHIFT = COUNT_BITS;
+  private static final int OUTPUT_SHIFT = 2 * COUNT_BITS;
+  private static final int DEPOSIT_OUTPUT_SHIFT = 3 * COUNT_BITS;
+  private static final int CONSUMED_SHIFT = 4 * COUNT_BITS;
+  private static final int[] NEIGHBOR_SHIFTS = new int[TILE_TYPES.length];
+  /**
+   * Counts, that have to be zero to place a tile of the {@link TileType} with this ordinal.
+   */
+  private static final int[] FORBIDDEN_NEIGHBORS = new int[TILE_TYPES.length];
+
+  static {
+    Arrays.fill(EMPTY_TYPE_BLOCK, EMPTY);
+
+    Arrays.fill(NEIGHBOR_SHIFTS, -1);
+    NEIGHBOR_SHIFTS[INPUT] = INPUT_SHIFT;
+    NEIGHBOR_SHIFTS[MINE_INPUT] = MINE_INPUT_SHIFT;
+    NEIGHBOR_SHIFTS[OUTPUT] = OUTPUT_SHIFT;
+    NEIGHBOR_SHIFTS[DEPOSIT_OUTPUT] = DEPOSIT_OUTPUT_SHIFT;
+
+    //INPUT can not be placed next to a DEPOSIT_OUTPUT
+    //DEPOSIT_OUTPUT can not be placed next to a INPUT
+    //MINE_INPUT can not be placed next to a OUTPUT
+    //Output can not be placed next to a MINE_INPUT
+    //No input can be placed next to an output, that is already connected to an input.
+    FORBIDDEN_NEIGHBORS[INPUT] = COUNT_MASK << DEPOSIT_OUTPUT_SHIFT | COUNT_MASK << CONSUMED_SHIFT;
+    FORBIDDEN_NEIGHBORS[DEPOSIT_OUTPUT] = COUNT_MASK << INPUT_SHIFT;
+    FORBIDDEN_NEIGHBORS[MINE_INPUT] = COUNT_MASK << OUTPUT_SHIFT | COUNT_MASK << CONSUMED_SHIFT;
+    FORBIDDEN_NEIGHBORS[OUTPUT] = COUNT_MASK << MINE_INPUT_SHIFT;
+  }
+
+  /**
+   * Index of all placed {@link BaseObject}s by their class.
+   */
+  private final Map<Class<? extends BaseObject>, ObjectBucket> objects;
   private final int width;
   private final int height;
-  private final Tile[][] tiles;
+
+  /*
+   * The grid is split into blocks of 8x8 cells, which are shared between copies of a Field. A
+   * block, list or table may only be changed, if it is marked with the current token of this Field.
+   * Otherwise, it is copied first. Making a copy only counts the copies of this Field, so copies
+   * can be made by many threads at once. The next change after a copy renews the token, so every
+   * shared part is copied on its first change and branching a Field does not copy the whole grid.
+   */
+  private Object token;
+  private final AtomicInteger copies;
+  private int copiesSeen;
+  private final int blocksHigh;
+  /**
+   * {@link TileType} ordinal of every cell, grouped by blocks.
+   */
+  private final byte[][] typeBlocks;
+  /**
+   * Id of the {@link BaseObject} every cell belongs to, {@link #NO_OWNER} for empty cells.
+   */
+  private final int[][] ownerBlocks;
+  /**
+   * Neighbor counts of every cell, see {@link #FORBIDDEN_NEIGHBORS}.
+   */
+  private final int[][] neighborBlocks;
+  private final Object[] blockTokens;
+  private final Map<Class<? extends BaseObject>, Object> objectTokens;
+  /**
+   * {@link BaseObject}s by their id. Ids of removed objects are reused.
+   */
+  private BaseObject[] ownerTable;
+  private int[] freeIds;
+  private Object idTableToken;
+  private int freeIdCount;
+  private int nextId;
+  /**
+   * Changes since the outermost open mark, see {@link #mark()}.
+   */
+  private final List<Change> journal;
+  private int openMarks;
+  /**
+   * Zobrist hash of all placed objects, see {@link #getZobristHash()}.
+   */
+  private long zobristHash;
+  /**
+   * Summed-area table of the occupied cells: the entry of (x, y) counts all non-empty cells left
+   * of x and above y. Only the first {@link #occupiedSumsValidRows} rows of cells are counted
+   * correctly, the rows below are counted again, when the table is needed next.
+   */
+  private int[] occupiedSums;
+  private Object occupiedSumsToken;
+  private int occupiedSumsValidRows;
+  /**
+   * Computed on first use and shared with all copies, until a {@link FixedObject} changes.
+   */
+  private DistanceFields distanceFields;
+  private ConveyorGraph conveyorGraph;
+  private final MinePool minePool;
 
   /**
    * Constructor of {@link Field}.
@@ -35,25 +156,204 @@ public class Field {
     this.width = width;
     this.height = height;
     objects = new HashMap<>();
+    objectTokens = new HashMap<>();
+
+    token = new Object();
+    copies = new AtomicInteger();
+    blocksHigh = (height + BLOCK_MASK) >> BLOCK_BITS;
+    int blockCount = ((width + BLOCK_MASK) >> BLOCK_BITS) * blocksHigh;
+    typeBlocks = new byte[blockCount][];
+    ownerBlocks = new int[blockCount][];
+    neighborBlocks = new int[blockCount][];
+    blockTokens = new Object[blockCount];
+    Arrays.fill(typeBlocks, EMPTY_TYPE_BLOCK);
+    Arrays.fill(ownerBlocks, EMPTY_OWNER_BLOCK);
+    Arrays.fill(neighborBlocks, EMPTY_NEIGHBOR_BLOCK);
+    ownerTable = new BaseObject[16];
+    freeIds = new int[16];
+    nextId = NO_OWNER + 1;
+    journal = new ArrayList<>();
+    minePool = new MinePool();
+  }
 
-    tiles = new Tile[width][height];
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        tiles[i][j] = new Tile(0, 0, TileType.EMPTY);
-      }
-    }
-
+  private Field(Field field) {
+    this.width = field.width;
+    this.height = field.height;
+    objects = new HashMap<>();
+    objectTokens = new HashMap<>();
+    field.objects.forEach(objects::put);
+
+    token = new Object();
+    copies = new AtomicInteger();
+    blocksHigh = field.blocksHigh;
+    typeBlocks = field.typeBlocks.clone();
+    ownerBlocks = field.ownerBlocks.clone();
+    neighborBlocks = field.neighborBlocks.clone();
+    blockTokens = new Object[typeBlocks.length];
+    ownerTable = field.ownerTable;
+    freeIds = field.freeIds;
+    freeIdCount = field.freeIdCount;
+    nextId = field.nextId;
+    journal = new ArrayList<>();
+    zobristHash = field.zobristHash;
+    occupiedSums = field.occupiedSums;
+    occupiedSumsValidRows = field.occupiedSumsValidRows;
+    distanceFields = field.distanceFields;
+    conveyorGraph = field.conveyorGraph;
+    minePool = field.minePool;
   }
 
   /**
-   * Returns all {@link Tile} of this {@link Field}.
+   * Returns all {@link Tile} of this {@link Field}. The array is created on every call and is not
+   * updated, when the {@link Field} changes.
    *
    * @return Tiles, that construct the {@link Field}.
+   * @deprecated Use {@link #getTileType(int, int)} and {@link #getObjectAt(int, int)} to look at
+   *     single cells, or {@link #getAllObjectsView()} to look at all objects. This method creates a
+   *     {@link Tile} per cell on every call and has no callers outside of tests.
    */
+  @Deprecated
   public Tile[][] getTiles() {
+    Tile[][] tiles = new Tile[width][height];
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        tiles[x][y] = getTileAt(x, y);
+      }
+    }
     return tiles;
   }
 
+  /**
+   * Returns the {@link TileType} of the cell at the given position, which has to be inside the
+   * {@link Field}.
+   *
+   * @param x X-Coordinate of the cell.
+   * @param y Y-Coordinate of the cell.
+   * @return {@link TileType} of the cell.
+   */
+  public TileType getTileType(int x, int y) {
+    return TILE_TYPES[typeAt(x, y)];
+  }
+
+  /**
+   * Returns the {@link BaseObject}, that the cell at the given position belongs to. The position
+   * has to be inside the {@link Field}.
+   *
+   * @param x X-Coordinate of the cell.
+   * @param y Y-Coordinate of the cell.
+   * @return {@link BaseObject} at the cell, empty if the cell is empty.
+   */
+  public Optional<BaseObject> getObjectAt(int x, int y) {
+    return Optional.ofNullable(ownerTable[ownerAt(x, y)]);
+  }
+
+  /**
+   * Checks if the given position is inside this {@link Field}.
+   *
+   * @param x X-Coordinate of the position.
+   * @param y Y-Coordinate of the position.
+   * @return True if the position is inside the {@link Field}. False otherwise.
+   */
+  public boolean isInside(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  /**
+   * Checks if all cells of the given area are inside this {@link Field} and empty. Costs O(1),
+   * after the rows changed since the last call are counted again.
+   *
+   * @param x      X-Coordinate of the upper left cell of the area.
+   * @param y      Y-Coordinate of the upper left cell of the area.
+   * @param width  Width of the area.
+   * @param height Height of the area.
+   * @return True if the area is empty. False otherwise.
+   */
+  public boolean isAreaEmpty(int x, int y, int width, int height) {
+    if (width <= 0 || height <= 0) {
+      return true;
+    }
+    if (!isInside(x, y) || !isInside(x + width - 1, y + height - 1)) {
+      return false;
+    }
+    return countOccupied(occupiedSums(), x, y, width, height) == 0;
+  }
+
+  /**
+   * Finds all empty areas of the given size inside this {@link Field}. Each area is checked in
+   * O(1), see {@link #isAreaEmpty(int, int, int, int)}.
+   *
+   * @param width  Width of the areas.
+   * @param height Height of the areas.
+   * @return Upper left cells of all empty areas.
+   */
+  public Bitboard findEmptyAreas(int width, int height) {
+    Bitboard areas = new Bitboard(this.width, this.height, false);
+    int[] sums = occupiedSums();
+    for (int x = 0; x + width <= this.width; x++) {
+      for (int y = 0; y + height <= this.height; y++) {
+        if (countOccupied(sums, x, y, width, height) == 0) {
+          areas.set(x, y);
+        }
+      }
+    }
+    return areas;
+  }
+
+  /**
+   * Returns the {@link DistanceFields} of the {@link Deposit}s of this {@link Field}. They only
+   * depend on the {@link FixedObject}s and are computed once, so they should be requested before
+   * the {@link Field} is copied. All copies share them.
+   *
+   * @return {@link DistanceFields} of this {@link Field}.
+   */
+  public DistanceFields getDistanceFields() {
+    if (distanceFields == null) {
+      distanceFields = DistanceFields.of(this);
+    }
+    return distanceFields;
+  }
+
+  /**
+   * Returns the {@link ConveyorGraph} of this {@link Field}. Like the {@link DistanceFields}, it
+   * only depends on the {@link FixedObject}s, is computed once and is shared by all copies.
+   *
+   * @return {@link ConveyorGraph} of this {@link Field}.
+   */
+  public ConveyorGraph getConveyorGraph() {
+    if (conveyorGraph == null) {
+      conveyorGraph = ConveyorGraph.of(this);
+    }
+    return conveyorGraph;
+  }
+
+  /**
+   * Returns the {@link MinePool} of the task of this {@link Field}. It is shared by all copies.
+   *
+   * @return {@link MinePool} of this {@link Field}.
+   */
+  public MinePool getMinePool() {
+    return minePool;
+  }
+
+  /**
+   * Marks all cells covered by a {@link FixedObject}, indexed by {@code y * width + x}.
+   */
+  boolean[] getFixedObjectCells() {
+    boolean[] fixedCells = new boolean[width * height];
+    for (BaseObject o : getAllObjectsView()) {
+      if (o instanceof FixedObject) {
+        for (Tile tile : o.tiles()) {
+          int x = o.getX() + tile.getRelHorPos();
+          int y = o.getY() + tile.getRelVerPos();
+          if (isInside(x, y)) {
+            fixedCells[y * width + x] = true;
+          }
+        }
+      }
+    }
+    return fixedCells;
+  }
+
   /**
    * Adds a {@link BaseObject} to this {@link Field}.
    *
@@ -75,13 +375,24 @@ public class Field {
    * @return True if the {@link BaseObject} can be placed. False otherwise.
    */
   public boolean baseObjectCanBePlaced(BaseObject o) {
+    return baseObjectCanBePlaced(o.getShape(), o.getX(), o.getY());
+  }
 
-    Collection<Tile> tilesCollection = Arrays.stream(o.getTiles()).toList();
+  /**
+   * Checks if an object with the given shape can be placed at the given position, without
+   * creating the object.
+   *
+   * @param shape Shape of the object.
+   * @param x     X-Coordinate of the object.
+   * @param y     Y-Coordinate of the object.
+   * @return True if the object can be placed. False otherwise.
+   */
+  public boolean baseObjectCanBePlaced(ShapeTemplate shape, int x, int y) {
 
-    for (Tile tile : tilesCollection) {
-      int horPos = o.getX() + tile.getRelHorPos();
-      int verPos = o.getY() + tile.getRelVerPos();
-      if (!tileCanBePlaced(horPos, verPos, tile)) {
+    for (int i = 0; i < shape.getTileCount(); i++) {
+      int horPos = x + shape.getHorOffset(i);
+      int verPos = y + shape.getVerOffset(i);
+      if (!tileCanBePlaced(horPos, verPos, (byte) shape.getType(i).ordinal())) {
         return false;
       }
     }
@@ -93,21 +404,77 @@ public class Field {
   /**
    * Removes a {@link BaseObject} of this {@link Field}.
    *
-   * @param o model.BaseObject on the {@link Field}, that will be removed.
+   * @param object model.BaseObject on the {@link Field}, that will be removed.
    */
-  public void removeBaseObject(BaseObject o) throws CouldNotRemoveObjectException {
-    if (!this.getAllObjects().contains(o)) {
-      throw new CouldNotRemoveObjectException(o);
+  public void removeBaseObject(BaseObject object) throws CouldNotRemoveObjectException {
+    // An object, that only equals a placed object, removes the placed object.
+    ObjectBucket bucket = objects.get(object.getClass());
+    BaseObject o = containsObject(object) ? object : bucket == null ? null
+        : bucket.findEqual(object);
+    if (o == null) {
+      throw new CouldNotRemoveObjectException(object);
+    }
+
+    bucket = ownObjectsOfClass(o.getClass());
+    int slot = bucket.removeObject(o);
+    if (openMarks == 0) {
+      bucket.compactIfSparse();
+    }
+    byte[] previousTypes = openMarks > 0 ? previousTypes(o) : null;
+    int[] previousOwners = previousTypes == null ? null : previousOwners(o);
+    int id = NO_OWNER;
+    for (Tile tile : o.tiles()) {
+      int x = o.getX() + tile.getRelHorPos();
+      int y = o.getY() + tile.getRelVerPos();
+      if (ownerTable[ownerAt(x, y)] == o) {
+        id = ownerAt(x, y);
+      }
+      setCell(x, y, EMPTY, NO_OWNER);
     }
+    id = releaseId(id, o);
+    objectChanged(o);
+
+    if (previousTypes != null) {
+      journal.add(new Change(o, false, id, slot, previousTypes, previousOwners));
+    }
+  }
+
+  /**
+   * Marks the current state of this {@link Field}. All following changes are recorded, until the
+   * mark is closed by {@link #rollbackTo(int)} or {@link #commit(int)}. Marks can be nested, but
+   * have to be closed in reverse order.
+   *
+   * @return Mark of the current state.
+   */
+  public int mark() {
+    openMarks++;
+    return journal.size();
+  }
 
-    objects.get(o.getClass()).remove(o);
-    for (Tile tile : o.getTiles()) {
-      int verticalPosition = o.getX() + tile.getRelHorPos();
-      int horizontalPosition = o.getY() + tile.getRelVerPos();
-      tiles[verticalPosition][horizontalPosition] = new Tile(verticalPosition, horizontalPosition,
-          TileType.EMPTY);
+  /**
+   * Undoes all changes made since the given mark and closes the mark. Cells covered by removed
+   * objects get back their previous content, so undoing is exact and costs O(1) per changed
+   * {@link BaseObject}.
+   *
+   * @param mark Mark returned by {@link #mark()}.
+   */
+  public void rollbackTo(int mark) {
+    checkMark(mark);
+    while (journal.size() > mark) {
+      undo(journal.remove(journal.size() - 1));
     }
+    closeMark();
+  }
 
+  /**
+   * Keeps all changes made since the given mark and closes the mark. The changes are still undone
+   * by a rollback of an enclosing mark.
+   *
+   * @param mark Mark returned by {@link #mark()}.
+   */
+  public void commit(int mark) {
+    checkMark(mark);
+    closeMark();
   }
 
   /**
@@ -118,51 +485,117 @@ public class Field {
   }
 
   /**
-   * Returns all {@link BaseObject}, that are placed on this {@link Field}.
+   * Returns all {@link BaseObject}, that are placed on this {@link Field}. The collection is a
+   * copy, use {@link #getAllObjectsView()} to iterate without copying.
    *
    * @return Collection of all placed {@link BaseObject}.
    */
   public Collection<BaseObject> getAllObjects() {
-    Collection<BaseObject> allObjects = new ArrayList<>();
-    objects.forEach((clazz, object) -> allObjects.addAll(object));
-    return allObjects;
+    return new ArrayList<>(getAllObjectsView());
   }
 
   /**
-   * Returns all {@link BaseObject}s of the field, that belong to a given class.
+   * Returns all {@link BaseObject}s of the field, that belong to a given class. The collection is
+   * a copy, so the {@link Field} may be changed while iterating over it. Use
+   * {@link #getObjectsOfClassView(Class)} to iterate without copying.
    *
    * @param clazz Class which all searched {@link BaseObject} should have.
    * @param <K>   ignore
    * @return A collection of all {@link BaseObject}s, that belong to the given class.
    */
-  @SuppressWarnings("unchecked")
   public <K extends BaseObject> Collection<K> getObjectsOfClass(Class<K> clazz) {
-    if (!objects.containsKey(clazz)) {
-      objects.put(clazz, new HashSet<>());
-    }
-    return new LinkedList<>((Collection<K>) objects.get(clazz));
+    return new LinkedList<>(getObjectsOfClassView(clazz));
+  }
+
+  /**
+   * Returns a read-only view of all {@link BaseObject}s placed on this {@link Field}. The view
+   * follows all changes of the {@link Field}, but the {@link Field} must not be changed while
+   * iterating over it.
+   *
+   * @return View of all placed {@link BaseObject}s.
+   */
+  public Collection<BaseObject> getAllObjectsView() {
+    return new ObjectsView<>(BaseObject.class, false);
+  }
+
+  /**
+   * Returns a read-only view of all {@link BaseObject}s of the given class. The view follows all
+   * changes of the {@link Field}, but the {@link Field} must not be changed while iterating over
+   * it.
+   *
+   * @param clazz Class which all searched {@link BaseObject} should have.
+   * @param <K>   ignore
+   * @return View of all {@link BaseObject}s, that belong to the given class.
+   */
+  public <K extends BaseObject> Collection<K> getObjectsOfClassView(Class<K> clazz) {
+    return new ObjectsView<>(clazz, true);
+  }
+
+  /**
+   * Returns a read-only view of all {@link MovableObject}s placed on this {@link Field}. The view
+   * follows all changes of the {@link Field}, but the {@link Field} must not be changed while
+   * iterating over it.
+   *
+   * @return View of all placed {@link MovableObject}s.
+   */
+  public Collection<MovableObject> getMovableObjectsView() {
+    return new ObjectsView<>(MovableObject.class, false);
+  }
+
+  /**
+   * Counts the {@link BaseObject}s of the given class in O(1).
+   *
+   * @param clazz Class of the counted {@link BaseObject}s.
+   * @return Number of {@link BaseObject}s with this class.
+   */
+  public int countObjectsOfClass(Class<? extends BaseObject> clazz) {
+    ObjectBucket bucket = objects.get(clazz);
+    return bucket == null ? 0 : bucket.size();
+  }
+
+  /**
+   * Checks in O(1), if the given {@link BaseObject} is placed on this {@link Field}. Objects are
+   * compared by identity.
+   *
+   * @param o {@link BaseObject} to look for.
+   * @return True if the object is placed on this {@link Field}. False otherwise.
+   */
+  public boolean containsObject(BaseObject o) {
+    ObjectBucket bucket = objects.get(o.getClass());
+    return bucket != null && bucket.containsObject(o);
   }
 
 
   /**
    * Makes a copy of this {@link Field}. Beware, that the same {@link BaseObject}s are used for the
-   * copy.
+   * copy. The copy shares its cells and object lists with this {@link Field} until one of them
+   * changes, so copying is cheap and both {@link Field}s only pay for the parts they change.
+   *
+   * <p>Copying does not change this {@link Field}, so many threads may copy it at once, as long as
+   * no thread changes it meanwhile.</p>
    *
    * @return Copy of this {@link Field}
    */
   public Field copy() {
-    Field copy = new Field(getWidth(), getHeight());
+    copies.incrementAndGet();
+    return new Field(this);
+  }
 
-    objects.forEach((clazz, baseObjects) -> copy.objects.put(clazz, new LinkedList<>(baseObjects)));
 
-    for (int i = 0; i < tiles.length; i++) {
-      System.arraycopy(tiles[i], 0, copy.tiles[i], 0, tiles[i].length);
-    }
-
-    return copy;
+  /**
+   * Returns a 64-bit Zobrist hash of all placed {@link BaseObject}s. Every object has a key, that
+   * depends on its class, shape and position, and the hash is the XOR of the keys of all placed
+   * objects. So it does not depend on the order the objects were placed in and is updated in O(1)
+   * when an object is added or removed. {@link Field}s with the same objects have the same hash.
+   * Changeable state of an object, like the {@link Product} of a {@link Factory}, is not part of
+   * the hash.
+   *
+   * @return Hash of the placed objects.
+   */
+  public long getZobristHash() {
+    return zobristHash;
   }
 
-
   public int getWidth() {
     return width;
   }
@@ -172,126 +605,321 @@ public class Field {
   }
 
   private void addBaseObjectWithoutCheck(BaseObject o) {
-    for (Tile tile : o.getTiles()) {
-      int verPos = o.getX() + tile.getRelHorPos();
-      int horPos = o.getY() + tile.getRelVerPos();
-      tiles[verPos][horPos] = tile;
+    int id = acquireId(o);
+    if (openMarks > 0) {
+      journal.add(new Change(o, true, id, -1, previousTypes(o), previousOwners(o)));
     }
-
-    if (!objects.containsKey(o.getClass())) {
-      objects.put(o.getClass(), new ArrayList<>());
+    for (Tile tile : o.tiles()) {
+      setCell(o.getX() + tile.getRelHorPos(), o.getY() + tile.getRelVerPos(),
+          (byte) tile.getType().ordinal(), id);
     }
-    objects.get(o.getClass()).add(o);
+
+    ownObjectsOfClass(o.getClass()).addObject(o);
+    objectChanged(o);
   }
 
-  private boolean tileCanBePlaced(int horPos, int verPos, Tile tile) {
+  private void objectChanged(BaseObject o) {
+    zobristHash ^= zobristKeyOf(o);
+    if (o instanceof FixedObject) {
+      distanceFields = null;
+      conveyorGraph = null;
+    }
+  }
 
-    //Check if Tile inside borders.
-    if (verPos < 0 || horPos < 0 || verPos >= height || horPos >= width) {
-      return false;
+  private static long zobristKeyOf(BaseObject o) {
+    long key = o.getShape().getZobristKey() ^ o.getClass().getName().hashCode();
+    if (o instanceof Deposit deposit) {
+      key = ZobristKeys.mix(key) ^ deposit.getResourceType().ordinal();
     }
+    long position = (long) o.getX() << 32 | o.getY() & 0xFFFFFFFFL;
+    return ZobristKeys.mix(ZobristKeys.mix(key) ^ position);
+  }
 
-    //Check if Tile is placed on top of another tile.
-    Tile targetTile = tiles[horPos][verPos];
-    boolean targetTileIsEmpty = targetTile.getType().equals(TileType.EMPTY);
-    boolean targetTileIsCrossable = targetTile.getType().equals(TileType.CROSSABLE);
-    boolean tileIsCrossable = tile.getType().equals(TileType.CROSSABLE);
-    if (!(targetTileIsEmpty || targetTileIsCrossable && tileIsCrossable)) {
-      return false;
+  private int[] occupiedSums() {
+    if (occupiedSumsValidRows == height) {
+      return occupiedSums;
+    }
+    Object token = ownToken();
+    if (occupiedSumsToken != token) {
+      occupiedSums = occupiedSums == null ? new int[(width + 1) * (height + 1)]
+          : occupiedSums.clone();
+      occupiedSumsToken = token;
+    }
+    int stride = width + 1;
+    for (int y = occupiedSumsValidRows; y < height; y++) {
+      int rowSum = 0;
+      for (int x = 0; x < width; x++) {
+        rowSum += typeAt(x, y) == EMPTY ? 0 : 1;
+        occupiedSums[(y + 1) * stride + x + 1] = occupiedSums[y * stride + x + 1] + rowSum;
+      }
     }
+    occupiedSumsValidRows = height;
+    return occupiedSums;
+  }
 
-    TileType type = tile.getType();
-    Collection<Tile> neighbors = getNeighbors(horPos, verPos);
+  private int countOccupied(int[] sums, int x, int y, int width, int height) {
+    int stride = this.width + 1;
+    int top = y * stride;
+    int bottom = (y + height) * stride;
+    return sums[bottom + x + width] - sums[bottom + x] - sums[top + x + width] + sums[top + x];
+  }
 
-    for (Tile neighbor : neighbors) {
+  private ObjectBucket ownObjectsOfClass(Class<? extends BaseObject> clazz) {
+    ObjectBucket bucket = objects.get(clazz);
+    Object token = ownToken();
+    if (bucket == null || objectTokens.get(clazz) != token) {
+      bucket = bucket == null ? new ObjectBucket() : new ObjectBucket(bucket);
+      objects.put(clazz, bucket);
+      objectTokens.put(clazz, token);
+    }
+    return bucket;
+  }
 
-      //DEPOSIT_OUTPUT can not be placed next to a INPUT
-      if (Objects.equals(neighbor.getType(), TileType.INPUT) && Objects.equals(type,
-          TileType.DEPOSIT_OUTPUT)) {
-        return false;
-      }
+  private byte[] previousTypes(BaseObject o) {
+    Tile[] tiles = o.tiles();
+    byte[] previousTypes = new byte[tiles.length];
+    for (int i = 0; i < tiles.length; i++) {
+      previousTypes[i] = typeAt(o.getX() + tiles[i].getRelHorPos(),
+          o.getY() + tiles[i].getRelVerPos());
+    }
+    return previousTypes;
+  }
 
-      //INPUT can not be placed next to a DEPOSIT_OUTPUT
-      if (Objects.equals(neighbor.getType(), TileType.DEPOSIT_OUTPUT) && Objects.equals(type,
-          TileType.INPUT)) {
-        return false;
-      }
+  private int[] previousOwners(BaseObject o) {
+    Tile[] tiles = o.tiles();
+    int[] previousOwners = new int[tiles.length];
+    for (int i = 0; i < tiles.length; i++) {
+      previousOwners[i] = ownerAt(o.getX() + tiles[i].getRelHorPos(),
+          o.getY() + tiles[i].getRelVerPos());
+    }
+    return previousOwners;
+  }
 
-      //Output can not be placed next to a MINE_INPUT
-      if (Objects.equals(neighbor.getType(), TileType.MINE_INPUT) && Objects.equals(type,
-          TileType.OUTPUT)) {
-        return false;
-      }
+  private void checkMark(int mark) {
+    if (openMarks == 0 || mark < 0 || mark > journal.size()) {
+      throw new IllegalStateException("Mark " + mark + " is not open.");
+    }
+  }
 
-      //MINE_INPUT can not be placed next to a OUTPUT
-      if (Objects.equals(neighbor.getType(), TileType.OUTPUT) && Objects.equals(type,
-          TileType.MINE_INPUT)) {
-        return false;
-      }
+  private void closeMark() {
+    openMarks--;
+    if (openMarks == 0) {
+      journal.clear();
+    }
+  }
 
+  private void undo(Change change) {
+    BaseObject o = change.object();
+    Tile[] tiles = o.tiles();
+    for (int i = 0; i < tiles.length; i++) {
+      setCell(o.getX() + tiles[i].getRelHorPos(), o.getY() + tiles[i].getRelVerPos(),
+          change.types()[i], change.owners()[i]);
     }
 
-    //Checks if it only connects to one input, if it is an output
-    if (Objects.equals(type, TileType.OUTPUT)) {
-      long inputCount = neighbors.stream()
-          .filter(neighbor -> neighbor.getType().equals(TileType.INPUT)).count();
-      if (inputCount > 1) {
-        return false;
+    objectChanged(o);
+    ObjectBucket bucket = ownObjectsOfClass(o.getClass());
+    if (change.added()) {
+      bucket.removeObject(o);
+      releaseId(change.id(), o);
+    } else {
+      bucket.restore(change.slot(), o);
+      if (change.id() != NO_OWNER) {
+        // The id is on top of the free ids, because all later changes are already undone.
+        ownIdTables();
+        freeIdCount--;
+        ownerTable[change.id()] = o;
       }
     }
+  }
 
-    //Checks if connected to an output, that is already connected to an input.
-    if (type.equals(TileType.INPUT) || type.equals(TileType.MINE_INPUT)) {
+  private byte typeAt(int x, int y) {
+    return typeBlocks[blockOf(x, y)][cellOf(x, y)];
+  }
 
-      for (Tile neighbor : neighbors) {
+  private int ownerAt(int x, int y) {
+    return ownerBlocks[blockOf(x, y)][cellOf(x, y)];
+  }
 
-        boolean neighborIsRegularOutput = neighbor.getType().equals(TileType.OUTPUT);
-        boolean neighborIsDepositOutput = neighbor.getType().equals(TileType.DEPOSIT_OUTPUT);
-        boolean neighborIsOutput = neighborIsRegularOutput || neighborIsDepositOutput;
-        boolean neighborHasInput = hasInputAsNeighbor(neighbor);
+  private int neighborsAt(int x, int y) {
+    return neighborBlocks[blockOf(x, y)][cellOf(x, y)];
+  }
 
-        if (neighborIsOutput && neighborHasInput) {
-          return false;
+  private void setCell(int x, int y, byte type, int owner) {
+    int block = ownBlock(blockOf(x, y));
+    byte previousType = typeBlocks[block][cellOf(x, y)];
+    boolean wasConsumed = isConsumedOutput(x, y);
+    typeBlocks[block][cellOf(x, y)] = type;
+    ownerBlocks[block][cellOf(x, y)] = owner;
+    occupiedSumsValidRows = Math.min(occupiedSumsValidRows, y);
+
+    if (previousType != type) {
+      for (int d = 0; d < NEIGHBOR_X.length; d++) {
+        int neighborX = x + NEIGHBOR_X[d];
+        int neighborY = y + NEIGHBOR_Y[d];
+        if (isInside(neighborX, neighborY)) {
+          boolean neighborWasConsumed = isConsumedOutput(neighborX, neighborY);
+          addNeighborCount(neighborX, neighborY, NEIGHBOR_SHIFTS[previousType], -1);
+          addNeighborCount(neighborX, neighborY, NEIGHBOR_SHIFTS[type], 1);
+          updateConsumedOutput(neighborX, neighborY, neighborWasConsumed);
         }
       }
+      updateConsumedOutput(x, y, wasConsumed);
     }
+  }
 
-    return true;
+  /**
+   * Checks if the cell is an output, that is already connected to an input.
+   */
+  private boolean isConsumedOutput(int x, int y) {
+    byte type = typeAt(x, y);
+    int inputs = COUNT_MASK << INPUT_SHIFT | COUNT_MASK << MINE_INPUT_SHIFT;
+    return (type == OUTPUT || type == DEPOSIT_OUTPUT) && (neighborsAt(x, y) & inputs) != 0;
   }
 
-  private boolean hasInputAsNeighbor(Tile tile) {
+  private void updateConsumedOutput(int x, int y, boolean wasConsumed) {
+    boolean consumed = isConsumedOutput(x, y);
+    if (consumed == wasConsumed) {
+      return;
+    }
+    for (int d = 0; d < NEIGHBOR_X.length; d++) {
+      int neighborX = x + NEIGHBOR_X[d];
+      int neighborY = y + NEIGHBOR_Y[d];
+      if (isInside(neighborX, neighborY)) {
+        addNeighborCount(neighborX, neighborY, CONSUMED_SHIFT, consumed ? 1 : -1);
+      }
+    }
+  }
 
-    if (tile.getObject().isPresent()) {
-      BaseObject object = tile.getObject().get();
-      int horPos = object.getX() + tile.getRelHorPos();
-      int verPos = object.getY() + tile.getRelVerPos();
+  private void addNeighborCount(int x, int y, int shift, int delta) {
+    if (shift < 0) {
+      return;
+    }
+    int block = ownBlock(blockOf(x, y));
+    neighborBlocks[block][cellOf(x, y)] += delta << shift;
+  }
+
+  private int ownBlock(int block) {
+    Object token = ownToken();
+    if (blockTokens[block] != token) {
+      typeBlocks[block] = typeBlocks[block].clone();
+      ownerBlocks[block] = ownerBlocks[block].clone();
+      neighborBlocks[block] = neighborBlocks[block].clone();
+      blockTokens[block] = token;
+    }
+    return block;
+  }
 
-      Collection<Tile> neighbors = getNeighbors(horPos, verPos);
-      for (Tile neighbor : neighbors) {
-        if (neighbor.getType().equals(TileType.INPUT) || neighbor.getType()
-            .equals(TileType.MINE_INPUT)) {
-          return true;
+  /**
+   * Returns the token of this {@link Field}. It is renewed, if this {@link Field} was copied since
+   * the last change, so no part shared with a copy is changed in place.
+   */
+  private Object ownToken() {
+    int copyCount = copies.get();
+    if (copyCount != copiesSeen) {
+      token = new Object();
+      copiesSeen = copyCount;
+    }
+    return token;
+  }
+
+  private int blockOf(int x, int y) {
+    return (x >> BLOCK_BITS) * blocksHigh + (y >> BLOCK_BITS);
+  }
+
+  private static int cellOf(int x, int y) {
+    return (x & BLOCK_MASK) << BLOCK_BITS | y & BLOCK_MASK;
+  }
+
+  private void ownIdTables() {
+    Object token = ownToken();
+    if (idTableToken != token) {
+      ownerTable = ownerTable.clone();
+      freeIds = freeIds.clone();
+      idTableToken = token;
+    }
+  }
+
+  private int acquireId(BaseObject o) {
+    ownIdTables();
+    int id;
+    if (freeIdCount > 0) {
+      id = freeIds[--freeIdCount];
+    } else {
+      id = nextId++;
+      if (id >= ownerTable.length) {
+        ownerTable = Arrays.copyOf(ownerTable, 2 * ownerTable.length);
+      }
+    }
+    ownerTable[id] = o;
+    return id;
+  }
+
+  private int releaseId(int id, BaseObject o) {
+    if (id == NO_OWNER) {
+      // Every cell of the object has been covered by another object.
+      for (int i = NO_OWNER + 1; i < nextId; i++) {
+        if (ownerTable[i] == o) {
+          id = i;
+          break;
         }
       }
-      return false;
+      if (id == NO_OWNER) {
+        return NO_OWNER;
+      }
+    }
+
+    ownIdTables();
+    ownerTable[id] = null;
+    if (freeIdCount == freeIds.length) {
+      freeIds = Arrays.copyOf(freeIds, 2 * freeIds.length);
     }
+    freeIds[freeIdCount++] = id;
+    return id;
+  }
 
-    return false;
+  private Tile getTileAt(int x, int y) {
+    BaseObject owner = ownerTable[ownerAt(x, y)];
+    if (owner != null) {
+      for (Tile tile : owner.tiles()) {
+        if (owner.getX() + tile.getRelHorPos() == x && owner.getY() + tile.getRelVerPos() == y) {
+          return tile;
+        }
+      }
+    }
+    return EMPTY_TILE;
   }
 
-  private Collection<Tile> getNeighbors(int horPos, int verPos) {
-    Collection<Tile> neighbors = new LinkedList<>();
-    addNeighbor(neighbors, horPos, verPos - 1);
-    addNeighbor(neighbors, horPos + 1, verPos);
-    addNeighbor(neighbors, horPos, verPos + 1);
-    addNeighbor(neighbors, horPos - 1, verPos);
-    return neighbors;
+  /**
+   * Checks if a {@link Tile} of the given type can be placed at the given position.
+   */
+  boolean tileCanBePlaced(int horPos, int verPos, TileType type) {
+    return tileCanBePlaced(horPos, verPos, (byte) type.ordinal());
   }
 
-  private void addNeighbor(Collection<Tile> neighbors, int horPos, int verPos) {
-    if (horPos >= 0 && verPos >= 0 && horPos < tiles.length && verPos < tiles[horPos].length) {
-      neighbors.add(tiles[horPos][verPos]);
+  private boolean tileCanBePlaced(int horPos, int verPos, byte type) {
+
+    //Check if Tile inside borders.
+    if (!isInside(horPos, verPos)) {
+      return false;
+    }
+
+    //Check if Tile is placed on top of another tile.
+    byte targetType = typeAt(horPos, verPos);
+    boolean targetTileIsEmpty = targetType == EMPTY;
+    boolean targetTileIsCrossable = targetType == CROSSABLE;
+    boolean tileIsCrossable = type == CROSSABLE;
+    if (!(targetTileIsEmpty || targetTileIsCrossable && tileIsCrossable)) {
+      return false;
+    }
+
+    //Checks the rules for the neighbors, see FORBIDDEN_NEIGHBORS.
+    int neighbors = neighborsAt(horPos, verPos);
+    if ((neighbors & FORBIDDEN_NEIGHBORS[type]) != 0) {
+      return false;
     }
+
+    //Checks if it only connects to one input, if it is an output
+    return type != OUTPUT || (neighbors >> INPUT_SHIFT & COUNT_MASK) <= 1;
   }
 
   /**
@@ -300,26 +928,93 @@ public class Field {
    * @return Collection of all {@link MovableObject}s, placed on this {@link Field}.
    */
   public Collection<MovableObject> getMovableObjects() {
+    return new HashSet<>(getMovableObjectsView());
+  }
 
-    Collection<MovableObject> movableObjects = new HashSet<>();
 
-    for (Class<? extends BaseObject> clazz : objects.keySet()) {
+  @Override
+  public String toString() {
+    return "Field{" + "width=" + width + ", height=" + height + '}';
+  }
 
-      boolean isSubClass = MovableObject.class.isAssignableFrom(clazz);
-      if (isSubClass) {
-        for (BaseObject baseObject : objects.get(clazz)) {
-          movableObjects.add((MovableObject) baseObject);
-        }
-      }
+  /**
+   * A recorded change of the {@link Field}. Stores the previous content of the cells of the
+   * object, the id of the object and its slot in the {@link ObjectBucket} of its class.
+   */
+  private record Change(BaseObject object, boolean added, int id, int slot, byte[] types,
+                        int[] owners) {
+
+  }
+
+  /**
+   * Read-only view of the {@link ObjectBucket}s of all classes, that are assignable to a class.
+   * The buckets are looked up on every access, because they are replaced, when they are copied.
+   */
+  private final class ObjectsView<K extends BaseObject> extends AbstractCollection<K> {
 
+    private final Class<K> clazz;
+    private final boolean exactClass;
+
+    private ObjectsView(Class<K> clazz, boolean exactClass) {
+      this.clazz = clazz;
+      this.exactClass = exactClass;
     }
 
-    return movableObjects;
-  }
+    // Compares by equals like the copies returned by getObjectsOfClass, in O(1) as well.
+    @Override
+    public boolean contains(Object o) {
+      if (!clazz.isInstance(o) || exactClass && o.getClass() != clazz) {
+        return false;
+      }
+      ObjectBucket bucket = objects.get(o.getClass());
+      return bucket != null && bucket.contains(o);
+    }
 
+    @Override
+    public int size() {
+      if (exactClass) {
+        return countObjectsOfClass(clazz);
+      }
+      int size = 0;
+      for (Map.Entry<Class<? extends BaseObject>, ObjectBucket> entry : objects.entrySet()) {
+        if (clazz.isAssignableFrom(entry.getKey())) {
+          size += entry.getValue().size();
+        }
+      }
+      return size;
+    }
 
-  @Override
-  public String toString() {
-    return "Field{" + "width=" + width + ", height=" + height + '}';
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<K> iterator() {
+      if (exactClass) {
+        ObjectBucket bucket = objects.get(clazz);
+        return bucket == null ? Collections.emptyIterator() : (Iterator<K>) bucket.iterator();
+      }
+      Iterator<Map.Entry<Class<? extends BaseObject>, ObjectBucket>> buckets =
+          objects.entrySet().iterator();
+      return new Iterator<>() {
+        private Iterator<BaseObject> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+          while (!current.hasNext() && buckets.hasNext()) {
+            Map.Entry<Class<? extends BaseObject>, ObjectBucket> entry = buckets.next();
+            if (clazz.isAssignableFrom(entry.getKey())) {
+              current = entry.getValue().iterator();
+            }
+          }
+          return current.hasNext();
+        }
+
+        @Override
+        public K next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return (K) current.next();
+        }
+      };
+    }
   }
-}
\ No newline at end of file
+}
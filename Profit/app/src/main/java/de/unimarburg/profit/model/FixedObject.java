@@ -20,7 +20,7 @@ public abstract class FixedObject extends BaseObject {
    * @param width  width of the {@link FixedObject}
    */
   protected FixedObject(int horPos, int verPos, Tile[] tiles, int width, int height) {
-    super(horPos, verPos, tiles);
+    super(horPos, verPos, ShapeTemplate.of(tiles));
     this.height = height;
     this.width = width;
   }
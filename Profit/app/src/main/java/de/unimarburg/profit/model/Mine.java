@@ -1,9 +1,7 @@
 package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.MineSubType;
-import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.Map;
 
 /**
  * This class models a {@link Mine}.
@@ -19,10 +17,11 @@ public class Mine extends MovableObject {
    *
    * @param horPos X-Coordinate of the {@link Mine}.
    * @param verPos Y-Coordinate of the {@link Mine}.
-   * @param tiles  Tiles, that constructs the {@link Mine}.
+   * @param shape  Shape of the {@link Mine}.
    */
-  private Mine(int horPos, int verPos, Tile[] tiles, MovableObjectType type, MineSubType subType) {
-    super(horPos, verPos, tiles, type);
+  private Mine(int horPos, int verPos, ShapeTemplate shape, MovableObjectType type,
+      MineSubType subType) {
+    super(horPos, verPos, shape, type);
     this.subType = subType;
   }
 
@@ -35,7 +34,17 @@ public class Mine extends MovableObject {
    * @return New instance of {@link Mine}.
    */
   public static Mine createMine(int horPos, int verPos, MineSubType type) {
+    return new Mine(horPos, verPos, ShapeTemplate.ofMine(type), MovableObjectType.MINE, type);
+  }
 
+  /**
+   * Creates the {@link Tile}s of a {@link Mine} with the given subtype. The {@link Tile}s are
+   * created once per subtype and shared by all {@link Mine}s, see {@link ShapeTemplate}.
+   *
+   * @param type Subtype of the {@link Mine}.
+   * @return {@link Tile}s of the {@link Mine}.
+   */
+  static Tile[] createTiles(MineSubType type) {
     Tile[] tiles;
     switch (type) {
 
@@ -74,26 +83,35 @@ public class Mine extends MovableObject {
       default -> throw new RuntimeException("Unknown branch.");
     }
 
-    return new Mine(horPos, verPos, tiles, MovableObjectType.MINE, type);
+    return tiles;
   }
 
   @Override
-  public Map<ResourceType, Integer> getResourcesToOutput(
-      Map<ResourceType, Integer> storedResources) {
+  public ResourceVector getResourcesToOutput(ResourceVector storedResources) {
     return storedResources;
   }
 
+  @Override
+  public int getOutputLimit() {
+    return Integer.MAX_VALUE;
+  }
+
   public MineSubType getSubType() {
     return this.subType;
   }
 
   @Override
   public boolean equals(Object obj) {
-    if (obj.getClass() != Mine.class) {
+    if (obj == null || obj.getClass() != Mine.class) {
       return false;
     }
     var lhs = (Mine) obj;
     return this.getX() == lhs.getX() && this.getY() == lhs.getY()
         && this.getSubType() == lhs.getSubType();
   }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * getX() + getY()) + subType.ordinal();
+  }
 }
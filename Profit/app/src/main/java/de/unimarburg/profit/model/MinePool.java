@@ -0,0 +1,86 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.MineSubType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical {@link Mine}s of one task. Every {@link Mine}, that is interned, gets a dense id, so
+ * sets and maps of {@link Mine}s can be stored as bitsets and arrays indexed by the id. Equal
+ * {@link Mine}s, which have the same position and {@link MineSubType}, are interned as the same
+ * instance.
+ *
+ * <p>Only {@link Mine}s are interned, because they are immutable. {@link Conveyor}s and
+ * {@link Factory}s are changed after they are placed and can not be shared between threads. The
+ * pool is shared by all copies of a {@link Field}, see {@link Field#getMinePool()}, and can be
+ * used by many threads at once.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class MinePool {
+
+  private final Map<Mine, Integer> ids = new HashMap<>();
+  private final List<Mine> mines = new ArrayList<>();
+
+  /**
+   * Returns the canonical {@link Mine} with the given position and {@link MineSubType}.
+   *
+   * @param horPos  X-Coordinate of the {@link Mine}.
+   * @param verPos  Y-Coordinate of the {@link Mine}.
+   * @param subType {@link MineSubType} of the {@link Mine}.
+   * @return Canonical {@link Mine}.
+   */
+  public Mine intern(int horPos, int verPos, MineSubType subType) {
+    return intern(Mine.createMine(horPos, verPos, subType));
+  }
+
+  /**
+   * Returns the canonical {@link Mine}, that equals the given {@link Mine}. The given
+   * {@link Mine} becomes the canonical one, if there was none before.
+   *
+   * @param mine {@link Mine} to intern.
+   * @return Canonical {@link Mine}.
+   */
+  public synchronized Mine intern(Mine mine) {
+    return mines.get(idOf(mine));
+  }
+
+  /**
+   * Returns the id of the given {@link Mine} and interns it, if it was not interned before. The ids
+   * are numbered from 0 in the order the {@link Mine}s were interned.
+   *
+   * @param mine {@link Mine}, whose id is returned.
+   * @return Id of the {@link Mine}.
+   */
+  public synchronized int idOf(Mine mine) {
+    Integer id = ids.get(mine);
+    if (id == null) {
+      id = mines.size();
+      ids.put(mine, id);
+      mines.add(mine);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the canonical {@link Mine} with the given id.
+   *
+   * @param id Id of the {@link Mine}.
+   * @return Canonical {@link Mine}.
+   * @throws IndexOutOfBoundsException If no {@link Mine} has the given id.
+   */
+  public synchronized Mine getMine(int id) {
+    return mines.get(id);
+  }
+
+  /**
+   * Returns the number of interned {@link Mine}s, which is the smallest id, that is not used.
+   *
+   * @return Number of interned {@link Mine}s.
+   */
+  public synchronized int size() {
+    return mines.size();
+  }
+}
@@ -14,10 +14,10 @@ public abstract class MovableObject extends BaseObject {
    *
    * @param horPos X-Coordinate of the {@link MovableObject}.
    * @param verPos Y-Coordinate of the {@link MovableObject}.
-   * @param tiles  Tiles, that construct the {@link MovableObject}.
+   * @param shape  Shape of the {@link MovableObject}.
    */
-  protected MovableObject(int horPos, int verPos, Tile[] tiles, MovableObjectType type) {
-    super(horPos, verPos, tiles);
+  protected MovableObject(int horPos, int verPos, ShapeTemplate shape, MovableObjectType type) {
+    super(horPos, verPos, shape);
     this.type = type;
   }
 
@@ -0,0 +1,166 @@
+package de.unimarburg.profit.model;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * All {@link BaseObject}s of one class on a {@link Field}, in the order they were added. Every
+ * object keeps its slot until the bucket is compacted, so membership checks, removals and undoing
+ * a removal cost O(1). Removed objects leave an empty slot, that is skipped while iterating.
+ *
+ * <p>The slots are indexed by {@link BaseObject#equals(Object)}, which only compares unchangeable
+ * properties like the position. Equal objects overlap, so a bucket contains at most one of them
+ * and both lookups by identity and by equality cost O(1).</p>
+ *
+ * @author Yannick Kraml
+ */
+final class ObjectBucket extends AbstractCollection<BaseObject> {
+
+  private BaseObject[] slots;
+  private int end;
+  private int size;
+  private int modCount;
+  private final Map<BaseObject, Integer> positions;
+
+  ObjectBucket() {
+    this.slots = new BaseObject[8];
+    this.positions = new HashMap<>();
+  }
+
+  /**
+   * Copies the given bucket. All objects keep their slots.
+   */
+  ObjectBucket(ObjectBucket bucket) {
+    this.slots = bucket.slots.clone();
+    this.end = bucket.end;
+    this.size = bucket.size;
+    this.positions = new HashMap<>(bucket.positions);
+  }
+
+  /**
+   * Adds the object after all other objects.
+   *
+   * @return Slot of the object.
+   */
+  int addObject(BaseObject o) {
+    restore(end, o);
+    return end - 1;
+  }
+
+  /**
+   * Puts the object into the given slot, which has to be empty.
+   */
+  void restore(int slot, BaseObject o) {
+    if (slot >= slots.length) {
+      slots = Arrays.copyOf(slots, Math.max(2 * slots.length, slot + 1));
+    }
+    slots[slot] = o;
+    end = Math.max(end, slot + 1);
+    positions.put(o, slot);
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Removes the object, which is compared by identity.
+   *
+   * @return Slot of the removed object, -1 if it is not part of this bucket.
+   */
+  int removeObject(BaseObject o) {
+    Integer slot = positions.get(o);
+    if (slot == null || slots[slot] != o) {
+      return -1;
+    }
+    positions.remove(o);
+    slots[slot] = null;
+    while (end > 0 && slots[end - 1] == null) {
+      end--;
+    }
+    size--;
+    modCount++;
+    return slot;
+  }
+
+  boolean containsObject(BaseObject o) {
+    return findEqual(o) == o;
+  }
+
+  /**
+   * Finds the object, that equals the given object.
+   *
+   * @return Equal object of this bucket, null if there is none.
+   */
+  BaseObject findEqual(BaseObject o) {
+    Integer slot = positions.get(o);
+    return slot == null ? null : slots[slot];
+  }
+
+  /**
+   * Removes the empty slots, if they make up most of this bucket. Changes the slots of the
+   * objects.
+   */
+  void compactIfSparse() {
+    if (end <= 2 * size + 16) {
+      return;
+    }
+    int next = 0;
+    for (int i = 0; i < end; i++) {
+      if (slots[i] != null) {
+        slots[next] = slots[i];
+        positions.put(slots[next], next);
+        next++;
+      }
+    }
+    Arrays.fill(slots, next, end, null);
+    end = next;
+    modCount++;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof BaseObject baseObject && findEqual(baseObject) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<BaseObject> iterator() {
+    return new Iterator<>() {
+      private final int expectedModCount = modCount;
+      private int next = skipEmpty(0);
+
+      @Override
+      public boolean hasNext() {
+        return next < end;
+      }
+
+      @Override
+      public BaseObject next() {
+        if (modCount != expectedModCount) {
+          throw new ConcurrentModificationException();
+        }
+        if (next >= end) {
+          throw new NoSuchElementException();
+        }
+        BaseObject o = slots[next];
+        next = skipEmpty(next + 1);
+        return o;
+      }
+    };
+  }
+
+  private int skipEmpty(int slot) {
+    while (slot < end && slots[slot] == null) {
+      slot++;
+    }
+    return slot;
+  }
+}
@@ -0,0 +1,108 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.TileType;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stores for every {@link TileType} all cells of a {@link Field}, where a {@link Tile} of this
+ * type could be placed. Because {@link Field#baseObjectCanBePlaced(BaseObject)} checks every
+ * {@link Tile} on its own, an object can be placed, iff every of its {@link Tile}s can be placed.
+ * So all legal positions of a {@link ShapeTemplate} are found by intersecting the shifted masks of
+ * its {@link Tile}s, which costs one pass over the {@link Field} per {@link Tile}. If a shape
+ * fills its bounding box, like a {@link Factory}, the empty areas of the {@link Field} are used
+ * instead of the masks of its solid {@link Tile}s.
+ *
+ * <p>The masks are a snapshot of the {@link Field} and are computed lazily. They are not updated,
+ * when the {@link Field} changes, and must not be shared between threads.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class PlacementMasks {
+
+  private final Field field;
+  private final Map<TileType, Bitboard> masks;
+
+  private PlacementMasks(Field field) {
+    this.field = field;
+    this.masks = new EnumMap<>(TileType.class);
+  }
+
+  /**
+   * Creates the {@link PlacementMasks} of the current state of the given {@link Field}.
+   *
+   * @param field {@link Field}, where objects should be placed.
+   * @return {@link PlacementMasks} of the {@link Field}.
+   */
+  public static PlacementMasks of(Field field) {
+    return new PlacementMasks(field);
+  }
+
+  /**
+   * Finds all positions, where an object with the given shape can be placed.
+   *
+   * @param template Shape of the object.
+   * @return All legal positions of the object.
+   * @throws IllegalArgumentException If a {@link Tile} of the shape is further than
+   *                                  {@link ShapeTemplate#MAX_OFFSET} away from the position of
+   *                                  the object.
+   */
+  public Bitboard legalPositions(ShapeTemplate template) {
+    if (template.getMaxOffset() > ShapeTemplate.MAX_OFFSET) {
+      throw new IllegalArgumentException("Tile is too far away from the object position.");
+    }
+    Bitboard positions = new Bitboard(field.getWidth(), field.getHeight(), true);
+    boolean emptyBox = template.needsEmptyBox();
+    if (emptyBox) {
+      Bitboard emptyAreas = field.findEmptyAreas(template.getBoxWidth(), template.getBoxHeight());
+      positions.retainShifted(emptyAreas, template.getMinHorOffset(), template.getMinVerOffset());
+    }
+    for (int i = 0; i < template.getTileCount(); i++) {
+      // A solid tile only needs an empty cell, which is already checked for the whole box.
+      if (emptyBox && template.getType(i) == TileType.SOLID) {
+        continue;
+      }
+      positions.retainShifted(getMask(template.getType(i)), template.getHorOffset(i),
+          template.getVerOffset(i));
+    }
+    return positions;
+  }
+
+  /**
+   * Checks, if an object with the given shape can be placed at the given position. Returns the
+   * same as {@link Field#baseObjectCanBePlaced(BaseObject)} for such an object.
+   *
+   * @param template Shape of the object.
+   * @param x        X-Coordinate of the object.
+   * @param y        Y-Coordinate of the object.
+   * @return True if the object can be placed. False otherwise.
+   */
+  public boolean canBePlaced(ShapeTemplate template, int x, int y) {
+    if (template.getMaxOffset() > ShapeTemplate.MAX_OFFSET) {
+      return field.baseObjectCanBePlaced(template, x, y);
+    }
+    for (int i = 0; i < template.getTileCount(); i++) {
+      Bitboard mask = getMask(template.getType(i));
+      if (!mask.contains(x + template.getHorOffset(i), y + template.getVerOffset(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Bitboard getMask(TileType type) {
+    Bitboard mask = masks.get(type);
+    if (mask == null) {
+      mask = new Bitboard(field.getWidth(), field.getHeight(), false);
+      for (int x = 0; x < field.getWidth(); x++) {
+        for (int y = 0; y < field.getHeight(); y++) {
+          if (field.tileCanBePlaced(x, y, type)) {
+            mask.set(x, y);
+          }
+        }
+      }
+      masks.put(type, mask);
+    }
+    return mask;
+  }
+}
@@ -2,8 +2,8 @@ package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.ProductType;
 import de.unimarburg.profit.model.enums.ResourceType;
-import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This class models a {@link Product}.
@@ -13,7 +13,7 @@ import java.util.Map;
 public class Product {
 
   private final ProductType type;
-  private final Map<ResourceType, Integer> neededResourcesMap;
+  private final ResourceVector neededResources;
   private final int points;
 
   /**
@@ -26,16 +26,16 @@ public class Product {
   public Product(int points, ProductType type, Map<ResourceType, Integer> requiredResources) {
     this.type = type;
     this.points = points;
-    this.neededResourcesMap = requiredResources;
+    this.neededResources = ResourceVector.of(requiredResources).readOnly();
   }
 
   /**
-   * Returns a map with the needed resources to produce one unit of the {@link Product}.
+   * Returns the needed resources to produce one unit of the {@link Product}.
    *
-   * @return Map, that contains the resources as keys and the amount needed per resource as values.
+   * @return Read-only {@link ResourceVector}, that contains the amount needed per resource.
    */
-  public Map<ResourceType, Integer> getNeededResources() {
-    return Collections.unmodifiableMap(neededResourcesMap);
+  public ResourceVector getNeededResources() {
+    return neededResources;
   }
 
   /**
@@ -59,13 +59,18 @@ public class Product {
     Product rhs = (Product) obj;
     boolean equality = this.type == rhs.type;
     equality = equality && this.points == rhs.points;
-    equality = equality && this.neededResourcesMap.equals(rhs.neededResourcesMap);
+    equality = equality && this.neededResources.equals(rhs.neededResources);
     return equality;
   }
 
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, points, neededResources);
+  }
+
   @Override
   public String toString() {
-    return "Product{" + "type=" + type + ", neededResourcesMap=" + neededResourcesMap + ", points="
+    return "Product{" + "type=" + type + ", neededResources=" + neededResources + ", points="
         + points + '}';
   }
 }
@@ -0,0 +1,214 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ResourceType;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Amounts of all {@link ResourceType}s, stored in one slot per {@link ResourceType}. It replaces
+ * maps of {@link ResourceType}s to amounts, so resources can be counted without boxing. A
+ * {@link ResourceVector} is changed in place, use {@link #copy()} to keep the old amounts. A
+ * read-only {@link ResourceVector}, created by {@link #readOnly()}, rejects all changes.
+ *
+ * @author Yannick Kraml
+ */
+public final class ResourceVector {
+
+  /**
+   * Number of slots, one per {@link ResourceType}.
+   */
+  public static final int SIZE = ResourceType.values().length;
+
+  private final int[] amounts;
+  private final boolean readOnly;
+
+  /**
+   * Constructor of {@link ResourceVector}. All amounts are 0.
+   */
+  public ResourceVector() {
+    this(new int[SIZE], false);
+  }
+
+  private ResourceVector(int[] amounts, boolean readOnly) {
+    this.amounts = amounts;
+    this.readOnly = readOnly;
+  }
+
+  /**
+   * Creates a {@link ResourceVector} with the amounts of the given map. Missing
+   * {@link ResourceType}s have the amount 0.
+   *
+   * @param resources Map, that contains the amount per {@link ResourceType}.
+   * @return New {@link ResourceVector}.
+   */
+  public static ResourceVector of(Map<ResourceType, Integer> resources) {
+    ResourceVector vector = new ResourceVector();
+    resources.forEach((type, amount) -> vector.amounts[type.ordinal()] = amount);
+    return vector;
+  }
+
+  /**
+   * Creates a {@link ResourceVector}, that only contains the given amount of one
+   * {@link ResourceType}.
+   *
+   * @param type   {@link ResourceType} of the amount.
+   * @param amount Amount of the {@link ResourceType}.
+   * @return New {@link ResourceVector}.
+   */
+  public static ResourceVector of(ResourceType type, int amount) {
+    ResourceVector vector = new ResourceVector();
+    vector.amounts[type.ordinal()] = amount;
+    return vector;
+  }
+
+  public int get(ResourceType type) {
+    return amounts[type.ordinal()];
+  }
+
+  /**
+   * Returns the amount of the {@link ResourceType} with the given ordinal.
+   *
+   * @param slot Ordinal of the {@link ResourceType}.
+   * @return Amount of the {@link ResourceType}.
+   */
+  public int get(int slot) {
+    return amounts[slot];
+  }
+
+  public void set(ResourceType type, int amount) {
+    checkWritable();
+    amounts[type.ordinal()] = amount;
+  }
+
+  public void add(ResourceType type, int amount) {
+    checkWritable();
+    amounts[type.ordinal()] += amount;
+  }
+
+  /**
+   * Adds all amounts of the given {@link ResourceVector} to this one.
+   *
+   * @param other {@link ResourceVector}, whose amounts are added.
+   */
+  public void addAll(ResourceVector other) {
+    checkWritable();
+    for (int i = 0; i < SIZE; i++) {
+      amounts[i] += other.amounts[i];
+    }
+  }
+
+  /**
+   * Calculates how many units of a {@link Product} with the given recipe can be made from this
+   * {@link ResourceVector}. Only the {@link ResourceType}s with a positive amount in the recipe
+   * are needed.
+   *
+   * @param recipe Resources, that are needed for one unit.
+   * @return Number of units, {@link Integer#MAX_VALUE} if the recipe needs no resources.
+   */
+  public int countUnits(ResourceVector recipe) {
+    int units = Integer.MAX_VALUE;
+    for (int i = 0; i < SIZE; i++) {
+      if (recipe.amounts[i] > 0) {
+        units = Math.min(units, Math.max(0, amounts[i]) / recipe.amounts[i]);
+      }
+    }
+    return units;
+  }
+
+  /**
+   * Removes the resources of the given recipe the given number of times. Only the positive amounts
+   * of the recipe are removed.
+   *
+   * @param recipe Resources, that are needed for one unit.
+   * @param times  Number of units.
+   */
+  public void subtract(ResourceVector recipe, int times) {
+    checkWritable();
+    for (int i = 0; i < SIZE; i++) {
+      if (recipe.amounts[i] > 0) {
+        amounts[i] -= recipe.amounts[i] * times;
+      }
+    }
+  }
+
+  /**
+   * Checks if no {@link ResourceType} has a positive amount.
+   *
+   * @return True if all amounts are 0 or less. False otherwise.
+   */
+  public boolean isEmpty() {
+    for (int amount : amounts) {
+      if (amount > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the amounts of this {@link ResourceVector} to the given array, starting at the given
+   * offset, in the order of the {@link ResourceType}s.
+   *
+   * @param target Array, that is changed.
+   * @param offset Index of the slot of {@link ResourceType#ZERO}.
+   */
+  public void addTo(int[] target, int offset) {
+    for (int i = 0; i < SIZE; i++) {
+      target[offset + i] += amounts[i];
+    }
+  }
+
+  /**
+   * Returns a copy, that can be changed, also if this {@link ResourceVector} is read-only.
+   *
+   * @return New {@link ResourceVector} with the same amounts.
+   */
+  public ResourceVector copy() {
+    return new ResourceVector(amounts.clone(), false);
+  }
+
+  /**
+   * Returns a read-only view of this {@link ResourceVector}. The view shows later changes of this
+   * {@link ResourceVector}, but cannot be changed itself.
+   *
+   * @return Read-only {@link ResourceVector} with the same amounts.
+   */
+  public ResourceVector readOnly() {
+    return readOnly ? this : new ResourceVector(amounts, true);
+  }
+
+  /**
+   * Returns the amounts as a map, that contains every {@link ResourceType}.
+   *
+   * @return Map, that contains the amount per {@link ResourceType}.
+   */
+  public Map<ResourceType, Integer> toMap() {
+    Map<ResourceType, Integer> map = new EnumMap<>(ResourceType.class);
+    for (ResourceType type : ResourceType.values()) {
+      map.put(type, amounts[type.ordinal()]);
+    }
+    return map;
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("The ResourceVector is read-only.");
+    }
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof ResourceVector other && Arrays.equals(amounts, other.amounts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(amounts);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(amounts);
+  }
+}
@@ -0,0 +1,184 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.CombinerSubType;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.TileType;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shape of a {@link BaseObject}, given by the relative positions and {@link TileType}s of its
+ * {@link Tile}s. A {@link ShapeTemplate} is immutable and can be shared between threads, so every
+ * subtype of {@link Mine}, {@link Conveyor} and {@link Combiner} and the {@link Factory} have only
+ * one shape, which is used by all objects of this subtype. Together with {@link PlacementMasks} it
+ * finds all positions, where an object of this shape can be placed, without creating the object.
+ *
+ * @author Yannick Kraml
+ */
+public final class ShapeTemplate {
+
+  /**
+   * Maximum distance of a {@link Tile} from the position of its object in both directions, that
+   * is supported by {@link PlacementMasks}.
+   */
+  static final int MAX_OFFSET = 4;
+
+  private static final Map<MineSubType, ShapeTemplate> MINES = new EnumMap<>(MineSubType.class);
+  private static final Map<ConveyorSubType, ShapeTemplate> CONVEYORS =
+      new EnumMap<>(ConveyorSubType.class);
+  private static final Map<CombinerSubType, ShapeTemplate> COMBINERS =
+      new EnumMap<>(CombinerSubType.class);
+  private static final ShapeTemplate FACTORY = of(Factory.createTilesArray());
+
+  static {
+    for (MineSubType subType : MineSubType.values()) {
+      MINES.put(subType, of(Mine.createTiles(subType)));
+    }
+    for (ConveyorSubType subType : ConveyorSubType.values()) {
+      CONVEYORS.put(subType, of(Conveyor.createTiles(subType)));
+    }
+    for (CombinerSubType subType : CombinerSubType.values()) {
+      COMBINERS.put(subType, of(Combiner.createTiles(subType)));
+    }
+  }
+
+  private final Tile[] tiles;
+  private final List<Tile> tileList;
+  private final int[] horOffsets;
+  private final int[] verOffsets;
+  private final TileType[] types;
+  private final int maxOffset;
+  private final long zobristKey;
+  private final int minHorOffset;
+  private final int minVerOffset;
+  private final int boxWidth;
+  private final int boxHeight;
+  private final boolean needsEmptyBox;
+
+  private ShapeTemplate(Tile[] tiles) {
+    this.tiles = tiles;
+    this.tileList = List.of(tiles);
+    this.horOffsets = new int[tiles.length];
+    this.verOffsets = new int[tiles.length];
+    this.types = new TileType[tiles.length];
+    int maxOffset = 0;
+    long zobristKey = tiles.length;
+    for (int i = 0; i < tiles.length; i++) {
+      horOffsets[i] = tiles[i].getRelHorPos();
+      verOffsets[i] = tiles[i].getRelVerPos();
+      types[i] = tiles[i].getType();
+      maxOffset = Math.max(maxOffset, Math.max(Math.abs(horOffsets[i]), Math.abs(verOffsets[i])));
+      zobristKey = ZobristKeys.mix(zobristKey ^ (long) horOffsets[i] << 40
+          ^ (long) verOffsets[i] << 20 ^ types[i].ordinal());
+    }
+    this.maxOffset = maxOffset;
+    this.zobristKey = zobristKey;
+
+    this.minHorOffset = Arrays.stream(horOffsets).min().orElse(0);
+    this.minVerOffset = Arrays.stream(verOffsets).min().orElse(0);
+    this.boxWidth = Arrays.stream(horOffsets).max().orElse(-1) - minHorOffset + 1;
+    this.boxHeight = Arrays.stream(verOffsets).max().orElse(-1) - minVerOffset + 1;
+    // Every tile except a crossable one needs an empty cell. So if the tiles fill their bounding
+    // box, all cells of the box have to be empty.
+    this.needsEmptyBox = tiles.length > 0 && tiles.length == boxWidth * boxHeight
+        && Arrays.stream(types).noneMatch(type -> type == TileType.CROSSABLE);
+  }
+
+  /**
+   * Creates a {@link ShapeTemplate} of the given {@link Tile}s. The array must not be modified
+   * afterwards.
+   *
+   * @param tiles {@link Tile}s of the shape.
+   * @return {@link ShapeTemplate} of the {@link Tile}s.
+   */
+  public static ShapeTemplate of(Tile[] tiles) {
+    return new ShapeTemplate(tiles);
+  }
+
+  public static ShapeTemplate ofMine(MineSubType subType) {
+    return MINES.get(subType);
+  }
+
+  public static ShapeTemplate ofConveyor(ConveyorSubType subType) {
+    return CONVEYORS.get(subType);
+  }
+
+  public static ShapeTemplate ofCombiner(CombinerSubType subType) {
+    return COMBINERS.get(subType);
+  }
+
+  public static ShapeTemplate ofFactory() {
+    return FACTORY;
+  }
+
+  /**
+   * Returns the {@link Tile}s of this shape.
+   *
+   * @return Unmodifiable list of the {@link Tile}s of this shape.
+   */
+  public List<Tile> getTiles() {
+    return tileList;
+  }
+
+  /**
+   * Returns the {@link Tile}s of this shape without copying them. The array is shared and must not
+   * be modified.
+   */
+  Tile[] tiles() {
+    return tiles;
+  }
+
+  int getMaxOffset() {
+    return maxOffset;
+  }
+
+  /**
+   * Returns a key, that only depends on the relative positions and {@link TileType}s of the
+   * {@link Tile}s, for {@link Field#getZobristHash()}.
+   */
+  long getZobristKey() {
+    return zobristKey;
+  }
+
+  /**
+   * Checks if an object of this shape can only be placed, where its whole bounding box is empty.
+   */
+  boolean needsEmptyBox() {
+    return needsEmptyBox;
+  }
+
+  int getMinHorOffset() {
+    return minHorOffset;
+  }
+
+  int getMinVerOffset() {
+    return minVerOffset;
+  }
+
+  int getBoxWidth() {
+    return boxWidth;
+  }
+
+  int getBoxHeight() {
+    return boxHeight;
+  }
+
+  int getTileCount() {
+    return types.length;
+  }
+
+  int getHorOffset(int tile) {
+    return horOffsets[tile];
+  }
+
+  int getVerOffset(int tile) {
+    return verOffsets[tile];
+  }
+
+  TileType getType(int tile) {
+    return types[tile];
+  }
+}
@@ -1,11 +1,11 @@
 package de.unimarburg.profit.model;
 
 import de.unimarburg.profit.model.enums.TileType;
-import java.util.Optional;
 
 /**
  * This class models a single {@link Tile} of a {@link BaseObject}. Each {@link BaseObject} is
- * constructed of several {@link Tile}s.
+ * constructed of several {@link Tile}s. A {@link Tile} is immutable and shared by all objects with
+ * the same {@link ShapeTemplate}, the object at a cell is stored by the {@link Field}.
  *
  * @author Yannick Kraml
  */
@@ -14,7 +14,6 @@ public class Tile {
   private final int relHorPos;
   private final int relVerPos;
   private final TileType type;
-  private BaseObject object;
 
   /**
    * Constructor of {@link Tile}.
@@ -41,14 +40,6 @@ public class Tile {
     return type;
   }
 
-  public void setObject(BaseObject object) {
-    this.object = object;
-  }
-
-  public Optional<BaseObject> getObject() {
-    return Optional.ofNullable(object);
-  }
-
   @Override
   public boolean equals(Object obj) {
     if (this.getClass().equals(obj.getClass())) {
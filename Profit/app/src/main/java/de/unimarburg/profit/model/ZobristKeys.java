@@ -0,0 +1,26 @@
+package de.unimarburg.profit.model;
+
+/**
+ * Helpers for the Zobrist keys of {@link ShapeTemplate}s, {@link Field}s and the cached scores of
+ * a {@link Field}. A key of a layout is the XOR of the keys of its parts, so the parts need keys,
+ * whose bits look unrelated, even if the parts differ in one coordinate only.
+ *
+ * @author Yannick Kraml
+ */
+public final class ZobristKeys {
+
+  private ZobristKeys() {
+  }
+
+  /**
+   * Scrambles the bits of the given value, so similar values get unrelated keys (SplitMix64).
+   *
+   * @param value Value to scramble.
+   * @return Scrambled value.
+   */
+  public static long mix(long value) {
+    value = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ value >>> 27) * 0x94D049BB133111EBL;
+    return value ^ value >>> 31;
+  }
+}
@@ -0,0 +1,855 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.Tile;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.enums.TileType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Flat representation of a {@link Field}, that can be simulated without creating objects per
+ * turn. Every object of the field gets an index. Resources of an object are stored in a slice of
+ * {@link #RESOURCE_TYPES} entries of an int array and all connections between objects are stored
+ * as an ordered list of edges. Two compiled fields are equal, if they are simulated exactly the
+ * same, regardless of where their objects are placed.
+ *
+ * @author Yannick Kraml
+ */
+final class CompiledField {
+
+  static final int RESOURCE_TYPES = ResourceType.values().length;
+
+  private static final int MAX_CHECK_INTERVAL = 32;
+  /**
+   * Whether the JVM was started with the module of the Vector API, so fields can be simulated in
+   * the lanes of {@link #runLanes(List, int)}.
+   */
+  static final boolean LANES_AVAILABLE =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+  private static final int[] NEIGHBOR_X = {1, -1, 0, 0};
+  private static final int[] NEIGHBOR_Y = {0, 0, 1, -1};
+
+  private final int objectCount;
+  private final int[] startResources;
+  private final int[] outputLimits;
+  private final int[] outgoingEdges;
+  private final int[] edgeGivers;
+  private final int[] edgeReceivers;
+  private final int[] producers;
+  private final int[] recipes;
+  private final int[] productPoints;
+  private int hash;
+
+  private CompiledField(int objectCount, int[] startResources, int[] outputLimits,
+      int[] outgoingEdges, int[] edgeGivers, int[] edgeReceivers, int[] producers,
+      int[] recipes, int[] productPoints) {
+    this.objectCount = objectCount;
+    this.startResources = startResources;
+    this.outputLimits = outputLimits;
+    this.outgoingEdges = outgoingEdges;
+    this.edgeGivers = edgeGivers;
+    this.edgeReceivers = edgeReceivers;
+    this.producers = producers;
+    this.recipes = recipes;
+    this.productPoints = productPoints;
+  }
+
+  /**
+   * Compiles the given {@link Field}. The order of the edges is the order, in which resources are
+   * moved during a turn: receivers in the order of {@link Field#getAllObjectsView()}, and for every
+   * receiver its tiles and their neighbors in the order right, left, down, up. Edges of givers,
+   * that never output anything, are dropped.
+   *
+   * @param field   {@link Field} to compile.
+   * @param context Scratch buffers used while compiling.
+   * @return Compiled {@link Field}.
+   * @throws SimulateException If a connected tile does not belong to an object of the field.
+   */
+  static CompiledField compile(Field field, SimulationContext context) throws SimulateException {
+    return compile(field, field.getAllObjectsView(), context);
+  }
+
+  /**
+   * Compiles some objects of the given {@link Field} like {@link #compile(Field,
+   * SimulationContext)}. Every object, that gives resources to one of these objects, has to be one
+   * of them.
+   *
+   * @param field   {@link Field}, that contains the objects.
+   * @param objects Objects to compile, in the order of {@link Field#getAllObjectsView()}.
+   * @param context Scratch buffers used while compiling.
+   * @return Compiled objects.
+   * @throws SimulateException If a connected tile does not belong to one of the objects.
+   */
+  static CompiledField compile(Field field, Collection<? extends BaseObject> objects,
+      SimulationContext context) throws SimulateException {
+    int n = objects.size();
+    BaseObject[] indexed = context.index(objects, n);
+    try {
+      return compile(field, indexed, n, context);
+    } finally {
+      context.release(n);
+    }
+  }
+
+  private static CompiledField compile(Field field, BaseObject[] objects, int n,
+      SimulationContext context) throws SimulateException {
+
+    int[] startResources = new int[n * RESOURCE_TYPES];
+    int[] outputLimits = new int[n];
+    int[] producerBuffer = context.producers();
+    int producerCount = 0;
+    for (int i = 0; i < n; i++) {
+      objects[i].getStartResources().addTo(startResources, i * RESOURCE_TYPES);
+      outputLimits[i] = objects[i].getOutputLimit();
+      if (objects[i] instanceof Factory factory && hasRecipe(factory.getProduct())) {
+        producerBuffer[producerCount++] = i;
+      }
+    }
+
+    int[] producers = Arrays.copyOf(producerBuffer, producerCount);
+    int[] recipes = new int[producerCount * RESOURCE_TYPES];
+    int[] productPoints = new int[producerCount];
+    for (int p = 0; p < producerCount; p++) {
+      Product product = ((Factory) objects[producers[p]]).getProduct();
+      product.getNeededResources().addTo(recipes, p * RESOURCE_TYPES);
+      productPoints[p] = product.getPoints();
+    }
+
+    int[] edges = context.edges();
+    int edgeCount = 0;
+    for (int receiver = 0; receiver < n; receiver++) {
+      BaseObject object = objects[receiver];
+      for (Tile tile : object.getShape().getTiles()) {
+        if (tile.getType() != TileType.INPUT && tile.getType() != TileType.MINE_INPUT) {
+          continue;
+        }
+        int x = tile.getRelHorPos() + object.getX();
+        int y = tile.getRelVerPos() + object.getY();
+        for (int d = 0; d < NEIGHBOR_X.length; d++) {
+          int giver = giverAt(field, context, tile, x + NEIGHBOR_X[d], y + NEIGHBOR_Y[d]);
+          if (giver >= 0 && outputLimits[giver] > 0) {
+            if (edgeCount + 2 > edges.length) {
+              edges = context.growEdges();
+            }
+            edges[edgeCount++] = giver;
+            edges[edgeCount++] = receiver;
+          }
+        }
+      }
+    }
+
+    int[] outgoingEdges = new int[n];
+    int[] edgeGivers = new int[edgeCount / 2];
+    int[] edgeReceivers = new int[edgeCount / 2];
+    for (int e = 0; e < edgeGivers.length; e++) {
+      edgeGivers[e] = edges[2 * e];
+      edgeReceivers[e] = edges[2 * e + 1];
+      outgoingEdges[edgeGivers[e]]++;
+    }
+
+    return new CompiledField(n, startResources, outputLimits, outgoingEdges, edgeGivers,
+        edgeReceivers, producers, recipes, productPoints);
+  }
+
+  /**
+   * Splits this field into its connected components. Resources only move along edges, so the
+   * points of the whole field are the sum of the points of its components. Components without a
+   * factory never earn points and are left out. Objects, edges and factories keep their relative
+   * order, so every component is simulated exactly like it is simulated as part of the field.
+   *
+   * @return Components of this field, that contain at least one factory.
+   */
+  List<CompiledField> components() {
+    return Arrays.stream(split(componentIds())).filter(Objects::nonNull).toList();
+  }
+
+  /**
+   * Numbers the connected components of this field in the order of their first object.
+   *
+   * @return Number of the component of every object.
+   */
+  int[] componentIds() {
+    int[] roots = new int[objectCount];
+    for (int i = 0; i < objectCount; i++) {
+      roots[i] = i;
+    }
+    for (int e = 0; e < edgeGivers.length; e++) {
+      int giverRoot = findRoot(roots, edgeGivers[e]);
+      int receiverRoot = findRoot(roots, edgeReceivers[e]);
+      roots[Math.max(giverRoot, receiverRoot)] = Math.min(giverRoot, receiverRoot);
+    }
+
+    int[] componentIds = new int[objectCount];
+    int componentCount = 0;
+    for (int i = 0; i < objectCount; i++) {
+      int root = findRoot(roots, i);
+      componentIds[i] = root == i ? componentCount++ : componentIds[root];
+    }
+    return componentIds;
+  }
+
+  /**
+   * Splits this field into the given components like {@link #components()}.
+   *
+   * @param componentIds Number of the component of every object, as returned by
+   *                     {@link #componentIds()}.
+   * @return Every component by its number, null for components without a factory.
+   */
+  CompiledField[] split(int[] componentIds) {
+    int componentCount = 0;
+    for (int componentId : componentIds) {
+      componentCount = Math.max(componentCount, componentId + 1);
+    }
+    int[] indexInComponent = new int[objectCount];
+    int[] sizes = new int[componentCount];
+    for (int i = 0; i < objectCount; i++) {
+      indexInComponent[i] = sizes[componentIds[i]]++;
+    }
+
+    int[] edgeCounts = new int[componentCount];
+    for (int e = 0; e < edgeGivers.length; e++) {
+      edgeCounts[componentIds[edgeGivers[e]]]++;
+    }
+    int[] producerCounts = new int[componentCount];
+    for (int producer : producers) {
+      producerCounts[componentIds[producer]]++;
+    }
+
+    CompiledField[] components = new CompiledField[componentCount];
+    for (int c = 0; c < componentCount; c++) {
+      if (producerCounts[c] > 0) {
+        components[c] = new CompiledField(sizes[c], new int[sizes[c] * RESOURCE_TYPES],
+            new int[sizes[c]], new int[sizes[c]], new int[edgeCounts[c]],
+            new int[edgeCounts[c]], new int[producerCounts[c]],
+            new int[producerCounts[c] * RESOURCE_TYPES], new int[producerCounts[c]]);
+      }
+    }
+
+    for (int i = 0; i < objectCount; i++) {
+      CompiledField component = components[componentIds[i]];
+      if (component != null) {
+        int index = indexInComponent[i];
+        System.arraycopy(startResources, i * RESOURCE_TYPES, component.startResources,
+            index * RESOURCE_TYPES, RESOURCE_TYPES);
+        component.outputLimits[index] = outputLimits[i];
+        component.outgoingEdges[index] = outgoingEdges[i];
+      }
+    }
+
+    Arrays.fill(edgeCounts, 0);
+    for (int e = 0; e < edgeGivers.length; e++) {
+      int c = componentIds[edgeGivers[e]];
+      if (components[c] != null) {
+        components[c].edgeGivers[edgeCounts[c]] = indexInComponent[edgeGivers[e]];
+        components[c].edgeReceivers[edgeCounts[c]] = indexInComponent[edgeReceivers[e]];
+        edgeCounts[c]++;
+      }
+    }
+
+    Arrays.fill(producerCounts, 0);
+    for (int p = 0; p < producers.length; p++) {
+      CompiledField component = components[componentIds[producers[p]]];
+      int index = producerCounts[componentIds[producers[p]]]++;
+      component.producers[index] = indexInComponent[producers[p]];
+      System.arraycopy(recipes, p * RESOURCE_TYPES, component.recipes, index * RESOURCE_TYPES,
+          RESOURCE_TYPES);
+      component.productPoints[index] = productPoints[p];
+    }
+
+    return components;
+  }
+
+  private static int findRoot(int[] roots, int index) {
+    while (roots[index] != index) {
+      roots[index] = roots[roots[index]];
+      index = roots[index];
+    }
+    return index;
+  }
+
+  /**
+   * Simulates the given number of turns, starting with the start resources of all objects. With
+   * fast-forward enabled, turns that would repeat the previous turn exactly are not simulated one
+   * by one: once the network is in a steady state, the number of turns this state lasts is
+   * computed and these turns are added in closed form. The result is identical to simulating
+   * every single turn.
+   *
+   * @param turns       Number of turns to simulate.
+   * @param fastForward Whether steady states may be skipped.
+   * @param context     Buffers to simulate in.
+   * @return Earned points.
+   */
+  int run(int turns, boolean fastForward, SimulationContext context) {
+    int size = objectCount * RESOURCE_TYPES;
+    context.prepare(size);
+    int[] stored = context.stored();
+    int[] inputted = context.inputted();
+    int[] before = context.before();
+    System.arraycopy(startResources, 0, stored, 0, size);
+
+    int points = 0;
+    int lastPoints = -1;
+    int nextCheck = 0;
+    int checkInterval = 1;
+
+    int turn = 0;
+    while (turn < turns) {
+      boolean check = fastForward && turn >= nextCheck;
+      if (check) {
+        System.arraycopy(stored, 0, before, 0, size);
+      }
+
+      int turnPoints = simulateTurn(stored, inputted);
+      points += turnPoints;
+      turn++;
+
+      if (check && turnPoints == lastPoints) {
+        long repeats = Math.min(steadyTurns(before, stored) - 1, turns - turn);
+        if (repeats > 0) {
+          for (int i = 0; i < size; i++) {
+            stored[i] += (int) (repeats * (stored[i] - before[i]));
+          }
+          points += (int) (repeats * turnPoints);
+          turn += (int) repeats;
+          checkInterval = 1;
+        } else {
+          checkInterval = Math.min(checkInterval * 2, MAX_CHECK_INTERVAL);
+        }
+        nextCheck = turn + checkInterval;
+      }
+      lastPoints = turnPoints;
+    }
+    return points;
+  }
+
+  /**
+   * Simulates the given number of turns with fast-forward, see
+   * {@link #run(int, boolean, SimulationContext)}. Exits early without simulating, if the
+   * {@link #upperBound(int)} shows, that no points can be earned, which is common for components,
+   * whose factory is not connected to the needed resources.
+   *
+   * @param turns   Number of turns to simulate.
+   * @param context Buffers to simulate in.
+   * @return Earned points.
+   */
+  int simulate(int turns, SimulationContext context) {
+    if (upperBound(turns) == 0) {
+      return 0;
+    }
+    return run(turns, true, context);
+  }
+
+  /**
+   * Checks if the given field has the same objects, edges, output limits and factories as this
+   * field, so both can be simulated in the lanes of {@link #runLanes(List, int)}. Their start
+   * resources, recipes and points may differ.
+   *
+   * @param other Field to compare with.
+   * @return True if both fields have the same topology. False otherwise.
+   */
+  boolean hasSameTopology(CompiledField other) {
+    return objectCount == other.objectCount
+        && Arrays.equals(edgeGivers, other.edgeGivers)
+        && Arrays.equals(edgeReceivers, other.edgeReceivers)
+        && Arrays.equals(producers, other.producers)
+        && Arrays.equals(outputLimits, other.outputLimits);
+  }
+
+  /**
+   * Returns a hash code, that is equal for fields with the same topology, see
+   * {@link #hasSameTopology(CompiledField)}.
+   *
+   * @return Hash code of the topology.
+   */
+  int topologyHashCode() {
+    int result = objectCount;
+    result = 31 * result + Arrays.hashCode(edgeGivers);
+    result = 31 * result + Arrays.hashCode(edgeReceivers);
+    return 31 * result + Arrays.hashCode(producers);
+  }
+
+  /**
+   * Simulates all given fields at once, which have to share their topology. The resources of the
+   * fields are interleaved, one lane per field, and every step of a turn is done with
+   * {@link IntVector}s of the preferred species, so one vector instruction handles several fields.
+   * The number of lanes is rounded up to a multiple of the vector length, the extra lanes stay
+   * empty. A lane is finished, once a turn moves and produces nothing, because every following
+   * turn is the same. The run ends, when all lanes are finished. Steady states are not skipped
+   * like in {@link #run(int, boolean, SimulationContext)}, so long runs should be simulated one by
+   * one instead. Every lane earns exactly the points of
+   * {@link #run(int, boolean, SimulationContext)}. It may only be called, if
+   * {@link #LANES_AVAILABLE}.
+   *
+   * @param fields Fields with the same topology.
+   * @param turns  Number of turns to simulate.
+   * @return Earned points per field, in the order of {@code fields}.
+   */
+  static int[] runLanes(List<CompiledField> fields, int turns) {
+    return Lanes.run(fields, turns);
+  }
+
+  /**
+   * Simulates one turn: every giver hands its output to its receivers, the factories produce and
+   * the inputted resources are moved into the storage.
+   *
+   * @param stored   Stored resources of all objects.
+   * @param inputted Resources inputted during this turn, has to be zero on entry and is zero again
+   *                 on exit.
+   * @return Points earned in this turn.
+   */
+  private int simulateTurn(int[] stored, int[] inputted) {
+    moveResources(stored, inputted);
+
+    int points = 0;
+    for (int p = 0; p < producers.length; p++) {
+      points += produce(stored, p);
+    }
+
+    transferInputs(stored, inputted);
+    return points;
+  }
+
+  /**
+   * Lets every giver hand its output to its receivers, in the order of the edges.
+   */
+  private void moveResources(int[] stored, int[] inputted) {
+    for (int e = 0; e < edgeGivers.length; e++) {
+      int limit = outputLimits[edgeGivers[e]];
+      int giver = edgeGivers[e] * RESOURCE_TYPES;
+      int receiver = edgeReceivers[e] * RESOURCE_TYPES;
+      for (int r = 0; r < RESOURCE_TYPES; r++) {
+        int amount = Math.min(stored[giver + r], limit);
+        stored[giver + r] -= amount;
+        inputted[receiver + r] += amount;
+      }
+    }
+  }
+
+  /**
+   * Lets the factory with the given producer index produce as many units as possible.
+   *
+   * @return Points earned by the factory.
+   */
+  private int produce(int[] stored, int p) {
+    int storage = producers[p] * RESOURCE_TYPES;
+    int recipe = p * RESOURCE_TYPES;
+
+    int units = Integer.MAX_VALUE;
+    for (int r = 0; r < RESOURCE_TYPES; r++) {
+      if (recipes[recipe + r] > 0) {
+        units = Math.min(units, stored[storage + r] / recipes[recipe + r]);
+      }
+    }
+
+    if (units <= 0) {
+      return 0;
+    }
+    for (int r = 0; r < RESOURCE_TYPES; r++) {
+      stored[storage + r] -= units * recipes[recipe + r];
+    }
+    return units * productPoints[p];
+  }
+
+  private void transferInputs(int[] stored, int[] inputted) {
+    for (int i = 0; i < objectCount * RESOURCE_TYPES; i++) {
+      stored[i] += inputted[i];
+      inputted[i] = 0;
+    }
+  }
+
+  /**
+   * Simulates the given number of turns like {@link #run(int, boolean, SimulationContext)} and
+   * records the flows of every object into the given {@link FlowTrace}. Every turn is simulated
+   * one by one, because a skipped steady state would leave gaps in the trace. The indices of the
+   * objects are the indices of the compiled {@link Field}, so this field must not be a component.
+   *
+   * @param turns   Number of turns to simulate.
+   * @param trace   {@link FlowTrace}, that records the flows.
+   * @param context Buffers to simulate in.
+   * @return Earned points.
+   */
+  int runTraced(int turns, FlowTrace trace, SimulationContext context) {
+    int size = objectCount * RESOURCE_TYPES;
+    context.prepare(size);
+    int[] stored = context.stored();
+    int[] inputted = context.inputted();
+    int[] before = context.before();
+    System.arraycopy(startResources, 0, stored, 0, size);
+    int[] in = new int[objectCount];
+    int[] out = new int[objectCount];
+    int[] objectPoints = new int[objectCount];
+
+    int points = 0;
+    for (int turn = 0; turn < turns; turn++) {
+      System.arraycopy(stored, 0, before, 0, size);
+      moveResources(stored, inputted);
+      for (int i = 0; i < objectCount; i++) {
+        in[i] = sumOfSlice(inputted, i);
+        out[i] = sumOfSlice(before, i) - sumOfSlice(stored, i);
+      }
+
+      for (int p = 0; p < producers.length; p++) {
+        objectPoints[producers[p]] = produce(stored, p);
+        points += objectPoints[producers[p]];
+      }
+      transferInputs(stored, inputted);
+
+      for (int i = 0; i < objectCount; i++) {
+        trace.record(turn, i, in[i], out[i], sumOfSlice(stored, i), objectPoints[i]);
+        objectPoints[i] = 0;
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Computes for how many turns, starting with the turn from {@code before} to {@code after}, every
+   * turn moves and produces exactly the same amounts. The amounts a giver outputs only depend on
+   * its storage at the start of the turn: they stay the same while the storage does not change or
+   * while every connected receiver gets the full output limit. A factory (which never outputs)
+   * keeps producing the same number of units while every needed resource stays above the current
+   * consumption and one resource, that does not grow, stays below the consumption of one more
+   * unit. All of these conditions are linear in the number of turns.
+   *
+   * @param before Stored resources at the start of the turn.
+   * @param after  Stored resources at the end of the turn.
+   * @return Number of identical turns, at least 1.
+   */
+  private long steadyTurns(int[] before, int[] after) {
+    long turns = Long.MAX_VALUE;
+
+    for (int i = 0; i < objectCount; i++) {
+      for (int r = 0; r < RESOURCE_TYPES; r++) {
+        long amount = before[i * RESOURCE_TYPES + r];
+        long change = after[i * RESOURCE_TYPES + r] - amount;
+        if (change == 0) {
+          continue;
+        }
+        if (change > 0) {
+          turns = Math.min(turns, (Integer.MAX_VALUE - amount) / change);
+        }
+        if (outgoingEdges[i] > 0) {
+          long fullOutput = (long) outgoingEdges[i] * outputLimits[i];
+          if (outputLimits[i] == Integer.MAX_VALUE || amount < fullOutput) {
+            return 1;
+          }
+          if (change < 0) {
+            turns = Math.min(turns, (amount - fullOutput) / -change + 1);
+          }
+        }
+      }
+    }
+
+    for (int p = 0; p < producers.length; p++) {
+      int storage = producers[p] * RESOURCE_TYPES;
+      int recipe = p * RESOURCE_TYPES;
+      if (outgoingEdges[producers[p]] > 0) {
+        return 1;
+      }
+
+      long units = Integer.MAX_VALUE;
+      for (int r = 0; r < RESOURCE_TYPES; r++) {
+        if (recipes[recipe + r] > 0) {
+          units = Math.min(units, before[storage + r] / recipes[recipe + r]);
+        }
+      }
+
+      boolean limited = false;
+      for (int r = 0; r < RESOURCE_TYPES; r++) {
+        long needed = recipes[recipe + r];
+        if (needed <= 0) {
+          continue;
+        }
+        long amount = before[storage + r];
+        long change = after[storage + r] - amount;
+        if (change < 0) {
+          turns = Math.min(turns, (amount - units * needed) / -change + 1);
+        }
+        if (change <= 0 && amount < (units + 1) * needed) {
+          limited = true;
+        }
+      }
+      if (!limited) {
+        return 1;
+      }
+    }
+
+    return Math.max(turns, 1);
+  }
+
+  /**
+   * Computes an upper bound for the points earned in the given number of turns, without
+   * simulating. Every object with start resources (a {@link de.unimarburg.profit.model.Deposit})
+   * can deliver at most its start resources to a factory, and at most its output limit per edge
+   * and turn. Resources need one turn per edge on the shortest path to a factory and one more
+   * turn to be used, so only resources output early enough count. Every factory is then assumed to
+   * get all of these resources for itself.
+   *
+   * @param turns Number of turns.
+   * @return Upper bound for the earned points.
+   */
+  long upperBound(int turns) {
+    int[] adjacencyStart = new int[objectCount + 1];
+    for (int giver : edgeGivers) {
+      adjacencyStart[giver + 1]++;
+    }
+    for (int i = 0; i < objectCount; i++) {
+      adjacencyStart[i + 1] += adjacencyStart[i];
+    }
+    int[] adjacency = new int[edgeGivers.length];
+    int[] fill = Arrays.copyOf(adjacencyStart, objectCount);
+    for (int e = 0; e < edgeGivers.length; e++) {
+      adjacency[fill[edgeGivers[e]]++] = edgeReceivers[e];
+    }
+
+    int[] producerOf = new int[objectCount];
+    Arrays.fill(producerOf, -1);
+    for (int p = 0; p < producers.length; p++) {
+      producerOf[producers[p]] = p;
+    }
+
+    long[] available = new long[producers.length * RESOURCE_TYPES];
+    int[] distances = new int[objectCount];
+    int[] queue = new int[objectCount];
+    for (int source = 0; source < objectCount; source++) {
+      if (outgoingEdges[source] == 0 || isEmpty(source)) {
+        continue;
+      }
+
+      Arrays.fill(distances, -1);
+      distances[source] = 0;
+      queue[0] = source;
+      int head = 0;
+      int tail = 1;
+      while (head < tail) {
+        int current = queue[head++];
+        if (distances[current] + 1 >= turns) {
+          continue;
+        }
+        for (int a = adjacencyStart[current]; a < adjacencyStart[current + 1]; a++) {
+          int next = adjacency[a];
+          if (distances[next] < 0) {
+            distances[next] = distances[current] + 1;
+            queue[tail++] = next;
+            if (producerOf[next] >= 0) {
+              addAvailable(available, producerOf[next], source, turns - distances[next]);
+            }
+          }
+        }
+      }
+    }
+
+    long bound = 0;
+    for (int p = 0; p < producers.length; p++) {
+      long units = Long.MAX_VALUE;
+      for (int r = 0; r < RESOURCE_TYPES; r++) {
+        int needed = recipes[p * RESOURCE_TYPES + r];
+        if (needed > 0) {
+          units = Math.min(units, available[p * RESOURCE_TYPES + r] / needed);
+        }
+      }
+      bound += units * Math.max(productPoints[p], 0);
+    }
+    return bound;
+  }
+
+  private boolean isEmpty(int object) {
+    for (int r = 0; r < RESOURCE_TYPES; r++) {
+      if (startResources[object * RESOURCE_TYPES + r] > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addAvailable(long[] available, int producer, int source, int outputTurns) {
+    long maxOutput = (long) outputLimits[source] * outgoingEdges[source] * outputTurns;
+    for (int r = 0; r < RESOURCE_TYPES; r++) {
+      available[producer * RESOURCE_TYPES + r] += Math.min(
+          startResources[source * RESOURCE_TYPES + r], maxOutput);
+    }
+  }
+
+  /**
+   * Sums up the resources of all types in the slice of the given object.
+   *
+   * @return Sum of the resources of the object.
+   */
+  private static int sumOfSlice(int[] resources, int object) {
+    int sum = 0;
+    for (int r = object * RESOURCE_TYPES; r < (object + 1) * RESOURCE_TYPES; r++) {
+      sum += resources[r];
+    }
+    return sum;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CompiledField rhs)) {
+      return false;
+    }
+    return objectCount == rhs.objectCount
+        && Arrays.equals(edgeGivers, rhs.edgeGivers)
+        && Arrays.equals(edgeReceivers, rhs.edgeReceivers)
+        && Arrays.equals(producers, rhs.producers)
+        && Arrays.equals(recipes, rhs.recipes)
+        && Arrays.equals(productPoints, rhs.productPoints)
+        && Arrays.equals(outputLimits, rhs.outputLimits)
+        && Arrays.equals(startResources, rhs.startResources);
+  }
+
+  @Override
+  public int hashCode() {
+    if (hash == 0) {
+      int result = objectCount;
+      result = 31 * result + Arrays.hashCode(edgeGivers);
+      result = 31 * result + Arrays.hashCode(edgeReceivers);
+      result = 31 * result + Arrays.hashCode(recipes);
+      result = 31 * result + Arrays.hashCode(startResources);
+      hash = result;
+    }
+    return hash;
+  }
+
+  private static boolean hasRecipe(Product product) {
+    if (product == null) {
+      return false;
+    }
+    return !product.getNeededResources().isEmpty();
+  }
+
+  // Index of the object, that gives resources from (x, y) to the input tile, or -1.
+  private static int giverAt(Field field, SimulationContext context, Tile tile, int x, int y)
+      throws SimulateException {
+
+    if (!field.isInside(x, y) || !areConnected(tile.getType(), field.getTileType(x, y))) {
+      return -1;
+    }
+
+    int index = field.getObjectAt(x, y).map(context::indexOf).orElse(-1);
+    if (index < 0) {
+      throw new SimulateException("Simulatable object not found.");
+    }
+    return index;
+  }
+
+  private static boolean areConnected(TileType type, TileType neighborType) {
+    return neighborType == TileType.OUTPUT && type == TileType.INPUT
+        || neighborType == TileType.DEPOSIT_OUTPUT && type == TileType.MINE_INPUT;
+  }
+
+  /**
+   * Runs of {@link #runLanes(List, int)}. Only this class uses the Vector API, so it is loaded on
+   * the first run in lanes and {@link CompiledField} works without the module.
+   */
+  private static final class Lanes {
+
+    /**
+     * Vectors, that hold one resource of several lanes.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private Lanes() {
+    }
+
+    static int[] run(List<CompiledField> fields, int turns) {
+      CompiledField first = fields.get(0);
+      int step = SPECIES.length();
+      int lanes = (fields.size() + step - 1) / step * step;
+      int size = first.objectCount * RESOURCE_TYPES;
+      int[] stored = new int[size * lanes];
+      int[] inputted = new int[size * lanes];
+      int[] recipes = new int[first.recipes.length * lanes];
+      int[] productPoints = new int[first.producers.length * lanes];
+      for (int l = 0; l < fields.size(); l++) {
+        CompiledField field = fields.get(l);
+        for (int i = 0; i < size; i++) {
+          stored[i * lanes + l] = field.startResources[i];
+        }
+        for (int i = 0; i < field.recipes.length; i++) {
+          recipes[i * lanes + l] = field.recipes[i];
+        }
+        for (int p = 0; p < field.producers.length; p++) {
+          productPoints[p * lanes + l] = field.productPoints[p];
+        }
+      }
+
+      int[] points = new int[lanes];
+      int[] moved = new int[lanes];
+      boolean[] finished = new boolean[fields.size()];
+      int running = fields.size();
+      for (int turn = 0; turn < turns && running > 0; turn++) {
+        Arrays.fill(moved, 0);
+
+        for (int e = 0; e < first.edgeGivers.length; e++) {
+          IntVector limit = IntVector.broadcast(SPECIES,
+              first.outputLimits[first.edgeGivers[e]]);
+          int giver = first.edgeGivers[e] * RESOURCE_TYPES * lanes;
+          int receiver = first.edgeReceivers[e] * RESOURCE_TYPES * lanes;
+          for (int r = 0; r < RESOURCE_TYPES * lanes; r += lanes) {
+            for (int l = 0; l < lanes; l += step) {
+              IntVector available = IntVector.fromArray(SPECIES, stored, giver + r + l);
+              IntVector amount = available.min(limit);
+              available.sub(amount).intoArray(stored, giver + r + l);
+              IntVector.fromArray(SPECIES, inputted, receiver + r + l).add(amount)
+                  .intoArray(inputted, receiver + r + l);
+              IntVector.fromArray(SPECIES, moved, l).or(amount).intoArray(moved, l);
+            }
+          }
+        }
+
+        for (int p = 0; p < first.producers.length; p++) {
+          int storage = first.producers[p] * RESOURCE_TYPES * lanes;
+          int recipe = p * RESOURCE_TYPES * lanes;
+          for (int l = 0; l < lanes; l += step) {
+            IntVector units = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+            for (int r = 0; r < RESOURCE_TYPES * lanes; r += lanes) {
+              IntVector needed = IntVector.fromArray(SPECIES, recipes, recipe + r + l);
+              VectorMask<Integer> isNeeded = needed.compare(VectorOperators.GT, 0);
+              // Lanes, that do not need the resource, divide by 1 and keep their units.
+              IntVector possible = IntVector.fromArray(SPECIES, stored, storage + r + l)
+                  .div(needed.blend(1, isNeeded.not()));
+              units = units.lanewise(VectorOperators.MIN, possible, isNeeded);
+            }
+            for (int r = 0; r < RESOURCE_TYPES * lanes; r += lanes) {
+              IntVector needed = IntVector.fromArray(SPECIES, recipes, recipe + r + l);
+              IntVector.fromArray(SPECIES, stored, storage + r + l).sub(units.mul(needed))
+                  .intoArray(stored, storage + r + l);
+            }
+            IntVector worth = IntVector.fromArray(SPECIES, productPoints, p * lanes + l);
+            IntVector.fromArray(SPECIES, points, l).add(units.mul(worth))
+                .intoArray(points, l);
+            IntVector.fromArray(SPECIES, moved, l).or(units).intoArray(moved, l);
+          }
+        }
+
+        for (int i = 0; i < size * lanes; i += step) {
+          IntVector.fromArray(SPECIES, stored, i)
+              .add(IntVector.fromArray(SPECIES, inputted, i)).intoArray(stored, i);
+        }
+        Arrays.fill(inputted, 0);
+
+        for (int l = 0; l < fields.size(); l++) {
+          if (!finished[l] && moved[l] == 0) {
+            finished[l] = true;
+            running--;
+          }
+        }
+      }
+      return Arrays.copyOf(points, fields.size());
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Field;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Records the resource flows of every object of a {@link Field} per turn, while it is simulated
+ * with {@link Simulator#simulate(Field, int, FlowTrace)}. Per turn and object the trace holds the
+ * resources, that were inputted and outputted, the stored resources at the end of the turn and the
+ * earned points. Objects, for which all of these are 0, are left out. A trace shows, where
+ * resources stall, for example at a conveyor chain, that gets more resources than it passes on.
+ *
+ * <p>The entries are stored in a ring buffer, that is allocated once. If more entries are
+ * recorded than it can hold, the oldest entries are overwritten. Simulations without a trace do
+ * not pay for tracing.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class FlowTrace {
+
+  private static final String CSV_HEADER = "turn,object,type,x,y,in,out,stored,points";
+
+  private final int[] turns;
+  private final int[] objects;
+  private final int[] inputs;
+  private final int[] outputs;
+  private final int[] stored;
+  private final int[] points;
+  private List<BaseObject> fieldObjects;
+  private long recorded;
+
+  /**
+   * Constructor of {@link FlowTrace}.
+   *
+   * @param capacity Maximum number of entries, that are kept.
+   */
+  public FlowTrace(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity has to be positive.");
+    }
+    this.turns = new int[capacity];
+    this.objects = new int[capacity];
+    this.inputs = new int[capacity];
+    this.outputs = new int[capacity];
+    this.stored = new int[capacity];
+    this.points = new int[capacity];
+  }
+
+  /**
+   * Removes all entries and starts a trace of the given objects. The index of an object in the
+   * list is its index in the entries.
+   */
+  void begin(List<BaseObject> fieldObjects) {
+    this.fieldObjects = fieldObjects;
+    this.recorded = 0;
+  }
+
+  void record(int turn, int object, int in, int out, int storedAmount, int earnedPoints) {
+    if ((in | out | storedAmount | earnedPoints) == 0) {
+      return;
+    }
+    int slot = (int) (recorded % turns.length);
+    turns[slot] = turn;
+    objects[slot] = object;
+    inputs[slot] = in;
+    outputs[slot] = out;
+    stored[slot] = storedAmount;
+    points[slot] = earnedPoints;
+    recorded++;
+  }
+
+  /**
+   * Returns the number of entries, that are kept.
+   *
+   * @return Number of entries, at most the capacity.
+   */
+  public int size() {
+    return (int) Math.min(recorded, turns.length);
+  }
+
+  /**
+   * Returns the number of entries, that were recorded since the trace was started, including the
+   * overwritten ones.
+   *
+   * @return Number of recorded entries.
+   */
+  public long getRecordedEntries() {
+    return recorded;
+  }
+
+  /**
+   * Writes the kept entries as CSV, from the oldest to the newest entry. Every line contains the
+   * turn, the index, class and position of the object, the inputted, outputted and stored
+   * resources and the earned points.
+   *
+   * @param out Target of the CSV lines.
+   * @throws IOException If the target could not be written.
+   */
+  public void writeCsv(Appendable out) throws IOException {
+    out.append(CSV_HEADER).append('\n');
+    long first = recorded - size();
+    for (long entry = first; entry < recorded; entry++) {
+      int slot = (int) (entry % turns.length);
+      BaseObject object = fieldObjects.get(objects[slot]);
+      out.append(Integer.toString(turns[slot])).append(',')
+          .append(Integer.toString(objects[slot])).append(',')
+          .append(object.getClass().getSimpleName()).append(',')
+          .append(Integer.toString(object.getX())).append(',')
+          .append(Integer.toString(object.getY())).append(',')
+          .append(Integer.toString(inputs[slot])).append(',')
+          .append(Integer.toString(outputs[slot])).append(',')
+          .append(Integer.toString(stored[slot])).append(',')
+          .append(Integer.toString(points[slot])).append('\n');
+    }
+  }
+}
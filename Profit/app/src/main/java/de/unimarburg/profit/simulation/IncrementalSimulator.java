@@ -0,0 +1,193 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Tile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Simulates a {@link Field} again and again, while objects are added to it and removed from it.
+ * The connected components of the {@link Field} are kept between the calls. After a move, only
+ * the components of the added and removed objects and of their neighbors are compiled and
+ * simulated again, all other components keep their points. The points of recently simulated
+ * components are cached, so undoing a move does not simulate anything.
+ *
+ * <p>Finding the moved objects costs one pass over all objects of the {@link Field}. Objects,
+ * that are changed while they are placed, have to be passed to {@link #changed(BaseObject)}.</p>
+ *
+ * <p>An {@link IncrementalSimulator} keeps the state of one {@link Field} and must only be used by
+ * one thread at a time.</p>
+ *
+ * @author Yannick Kraml
+ */
+public class IncrementalSimulator {
+
+  private static final int MAX_CACHED_COMPONENTS = 4096;
+  private static final int[] NEIGHBOR_X = {1, -1, 0, 0};
+  private static final int[] NEIGHBOR_Y = {0, 0, 1, -1};
+
+  private final int turns;
+  private final Map<CompiledField, Integer> componentPoints;
+  private final SimulationContext context;
+  private final Map<BaseObject, Component> components;
+  private Field field;
+  private int points;
+
+  /**
+   * Constructor of {@link IncrementalSimulator}.
+   *
+   * @param turns Turns, that every {@link Field} will be simulated.
+   */
+  public IncrementalSimulator(int turns) {
+    this.turns = turns;
+    this.componentPoints = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CompiledField, Integer> eldest) {
+        return size() > MAX_CACHED_COMPONENTS;
+      }
+    };
+    this.context = new SimulationContext();
+    this.components = new IdentityHashMap<>();
+  }
+
+  /**
+   * Simulates the given {@link Field}. Returns the same points as
+   * {@link Simulator#simulate(Field, int)}. If the same {@link Field} was simulated by the last
+   * call, only the components changed since then are simulated.
+   *
+   * @param field {@link Field} to simulate.
+   * @return Earned points.
+   * @throws SimulateException If the {@link Field} could not be simulated.
+   */
+  public int simulate(Field field) throws SimulateException {
+    if (field != this.field) {
+      this.field = field;
+      components.clear();
+      points = 0;
+    }
+    try {
+      update();
+    } catch (SimulateException | RuntimeException e) {
+      // The kept components may be incomplete, so the next call starts from scratch.
+      this.field = null;
+      throw e;
+    }
+    return points;
+  }
+
+  /**
+   * Marks an object as changed, that stayed on the simulated {@link Field}, for example a
+   * {@link de.unimarburg.profit.model.Factory}, that got another product. Its component is
+   * simulated again by the next call of {@link #simulate(Field)}.
+   *
+   * @param object Changed object.
+   */
+  public void changed(BaseObject object) {
+    Component component = components.get(object);
+    if (component != null) {
+      points -= component.points;
+      for (BaseObject member : component.objects) {
+        components.remove(member);
+      }
+    }
+  }
+
+  // Compiles and simulates the components, that changed since the last call.
+  private void update() throws SimulateException {
+    Set<Component> changedComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<BaseObject> addedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    int keptObjects = 0;
+    for (BaseObject object : field.getAllObjectsView()) {
+      if (components.containsKey(object)) {
+        keptObjects++;
+      } else {
+        addedObjects.add(object);
+      }
+    }
+    if (keptObjects < components.size()) {
+      for (Map.Entry<BaseObject, Component> entry : components.entrySet()) {
+        if (!field.containsObject(entry.getKey())) {
+          changedComponents.add(entry.getValue());
+        }
+      }
+    }
+    // An added object may connect to every object next to it.
+    for (BaseObject object : addedObjects) {
+      for (Tile tile : object.getShape().getTiles()) {
+        int x = object.getX() + tile.getRelHorPos();
+        int y = object.getY() + tile.getRelVerPos();
+        for (int d = 0; d < NEIGHBOR_X.length; d++) {
+          if (field.isInside(x + NEIGHBOR_X[d], y + NEIGHBOR_Y[d])) {
+            field.getObjectAt(x + NEIGHBOR_X[d], y + NEIGHBOR_Y[d]).map(components::get)
+                .ifPresent(changedComponents::add);
+          }
+        }
+      }
+    }
+    if (addedObjects.isEmpty() && changedComponents.isEmpty()) {
+      return;
+    }
+
+    Set<BaseObject> changedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    changedObjects.addAll(addedObjects);
+    for (Component component : changedComponents) {
+      points -= component.points;
+      for (BaseObject object : component.objects) {
+        components.remove(object);
+        changedObjects.add(object);
+      }
+    }
+
+    // The objects keep the order of the field, so the components are simulated exactly like
+    // they are simulated as part of the whole field.
+    List<BaseObject> compiledObjects = new ArrayList<>(changedObjects.size());
+    for (BaseObject object : field.getAllObjectsView()) {
+      if (changedObjects.contains(object)) {
+        compiledObjects.add(object);
+      }
+    }
+    CompiledField compiled = CompiledField.compile(field, compiledObjects, context);
+    int[] componentIds = compiled.componentIds();
+    CompiledField[] parts = compiled.split(componentIds);
+    Component[] newComponents = new Component[parts.length];
+    for (int i = 0; i < componentIds.length; i++) {
+      int id = componentIds[i];
+      if (newComponents[id] == null) {
+        newComponents[id] = new Component(parts[id] == null ? 0 : pointsOf(parts[id]));
+        points += newComponents[id].points;
+      }
+      newComponents[id].objects.add(compiledObjects.get(i));
+      components.put(compiledObjects.get(i), newComponents[id]);
+    }
+  }
+
+  private int pointsOf(CompiledField component) {
+    Integer cachedPoints = componentPoints.get(component);
+    if (cachedPoints == null) {
+      cachedPoints = component.simulate(turns, context);
+      componentPoints.put(component, cachedPoints);
+    }
+    return cachedPoints;
+  }
+
+  /**
+   * Objects of one connected component and its points. Components without a factory earn no
+   * points, but are kept as well, so a factory connected to them later is simulated with them.
+   */
+  private static final class Component {
+
+    private final List<BaseObject> objects;
+    private final int points;
+
+    private Component(int points) {
+      this.objects = new ArrayList<>();
+      this.points = points;
+    }
+  }
+}
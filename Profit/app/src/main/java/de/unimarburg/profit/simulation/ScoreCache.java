@@ -0,0 +1,215 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.concurrent.Deadline;
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.ResourceVector;
+import de.unimarburg.profit.model.ZobristKeys;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Caches the points of simulated {@link Field}s, so a {@link Field}, whose layout was already
+ * simulated, is not simulated again. A {@link Field} is identified by its
+ * {@link Field#getZobristHash()}, combined with the {@link Product}s of its {@link Factory}s and
+ * the number of turns. Two different layouts with the same 64-bit key would share their points,
+ * which is accepted as unlikely enough.
+ *
+ * <p>The cache holds at most a fixed number of entries and evicts the least recently used one.
+ * It is split into stripes, that are locked on their own, so it can be used by many threads at
+ * once.</p>
+ *
+ * @author Yannick Kraml
+ */
+public final class ScoreCache {
+
+  private static final int STRIPES = 16;
+
+  private final List<Map<Key, Integer>> stripes;
+
+  /**
+   * Constructor of {@link ScoreCache}.
+   *
+   * @param capacity Maximum number of cached points.
+   */
+  public ScoreCache(int capacity) {
+    int stripeCapacity = Math.max(1, capacity / STRIPES);
+    stripes = new ArrayList<>(STRIPES);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes.add(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Entry<Key, Integer> eldest) {
+          return size() > stripeCapacity;
+        }
+      });
+    }
+  }
+
+  /**
+   * Simulates the given {@link Field}, if its layout was not simulated before.
+   *
+   * @param field {@link Field} to simulate.
+   * @param turns Turns, that the {@link Field} will be simulated.
+   * @return Earned points.
+   * @throws SimulateException If the {@link Field} could not be simulated.
+   * @see Simulator#simulate(Field, int)
+   */
+  public int simulate(Field field, int turns) throws SimulateException {
+    return simulate(field, turns, true);
+  }
+
+  /**
+   * Simulates the given {@link Field} like {@link #simulate(Field, int)}. Callers, that already
+   * simulate in their own threads, should not simulate in parallel.
+   *
+   * @param field    {@link Field} to simulate.
+   * @param turns    Turns, that the {@link Field} will be simulated.
+   * @param parallel Whether the components are simulated in parallel on the common pool.
+   * @return Earned points.
+   * @throws SimulateException If the {@link Field} could not be simulated.
+   * @see Simulator#simulate(Field, int, boolean)
+   */
+  public int simulate(Field field, int turns, boolean parallel) throws SimulateException {
+    Key key = keyOf(field, turns);
+    Integer points = get(key);
+    if (points == null) {
+      points = Simulator.getInstance().simulate(field, turns, parallel);
+      put(key, points);
+    }
+    return points;
+  }
+
+  /**
+   * Simulates all given {@link Field}s in parallel, whose layout was not simulated before. A
+   * layout, that appears more than once in the list, is simulated only once.
+   *
+   * @param fields {@link Field}s to simulate.
+   * @param turns  Turns, that every {@link Field} will be simulated.
+   * @return Earned points per {@link Field}, in the order of {@code fields}, or
+   *     {@link Simulator#NOT_SIMULATED} for the {@link Field}s, that could not be simulated.
+   * @see Simulator#simulateAll(java.util.Collection, int)
+   */
+  public int[] simulateAll(List<Field> fields, int turns) {
+    // Every field earns at least 0 points, so no field is left out.
+    return simulateAll(fields, turns, -1, Deadline.never(), true);
+  }
+
+  /**
+   * Simulates all given {@link Field}s like {@link #simulateAll(List, int)}, but stops early, when
+   * the given {@link Deadline} expires, and leaves out {@link Field}s, that cannot earn more than
+   * the given minimum. Cached points are returned even if they do not exceed the minimum. Only
+   * the points of {@link Field}s, that were simulated completely, are cached.
+   *
+   * @param fields        {@link Field}s to simulate.
+   * @param turns         Turns, that every {@link Field} will be simulated.
+   * @param minimumPoints Points, that a {@link Field} has to be able to exceed to be simulated.
+   * @param deadline      {@link Deadline}, after which the simulation stops.
+   * @param parallel      Whether the batch is simulated in parallel on the common pool.
+   * @return Earned points per {@link Field}, in the order of {@code fields}, or
+   *     {@link Simulator#NOT_SIMULATED} for the {@link Field}s, that were left out or could not be
+   *     simulated.
+   * @see Simulator#simulateAll(java.util.Collection, int, int, Deadline, boolean)
+   */
+  public int[] simulateAll(List<Field> fields, int turns, int minimumPoints, Deadline deadline,
+      boolean parallel) {
+    int[] points = new int[fields.size()];
+    Key[] keys = new Key[fields.size()];
+    Map<Key, Field> missing = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      keys[i] = keyOf(fields.get(i), turns);
+      // Read once, so points evicted in the meantime are still known.
+      Integer cached = get(keys[i]);
+      if (cached != null) {
+        points[i] = cached;
+      } else {
+        missing.putIfAbsent(keys[i], fields.get(i));
+      }
+    }
+
+    List<Key> missingKeys = new ArrayList<>(missing.keySet());
+    int[] missingPoints = Simulator.getInstance().simulateAll(
+        missingKeys.stream().map(missing::get).toList(), turns, minimumPoints, deadline,
+        parallel);
+    Map<Key, Integer> simulated = new HashMap<>();
+    for (int i = 0; i < missingPoints.length; i++) {
+      simulated.put(missingKeys.get(i), missingPoints[i]);
+      if (missingPoints[i] != Simulator.NOT_SIMULATED) {
+        put(missingKeys.get(i), missingPoints[i]);
+      }
+    }
+
+    for (int i = 0; i < keys.length; i++) {
+      Integer result = simulated.get(keys[i]);
+      if (result != null) {
+        points[i] = result;
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Checks, if the points of the layout of the given {@link Field} are cached.
+   *
+   * @param field {@link Field} to check.
+   * @param turns Turns, that the {@link Field} would be simulated.
+   * @return True if the points are cached. False otherwise.
+   */
+  public boolean contains(Field field, int turns) {
+    return contains(keyOf(field, turns));
+  }
+
+  private boolean contains(Key key) {
+    Map<Key, Integer> stripe = stripeOf(key);
+    synchronized (stripe) {
+      return stripe.containsKey(key);
+    }
+  }
+
+  private Integer get(Key key) {
+    Map<Key, Integer> stripe = stripeOf(key);
+    synchronized (stripe) {
+      return stripe.get(key);
+    }
+  }
+
+  private void put(Key key, int points) {
+    Map<Key, Integer> stripe = stripeOf(key);
+    synchronized (stripe) {
+      stripe.put(key, points);
+    }
+  }
+
+  private Map<Key, Integer> stripeOf(Key key) {
+    return stripes.get((int) (key.hash() >>> 60) & STRIPES - 1);
+  }
+
+  private static Key keyOf(Field field, int turns) {
+    long hash = field.getZobristHash();
+    for (Factory factory : field.getObjectsOfClassView(Factory.class)) {
+      long position = (long) factory.getX() << 32 | factory.getY() & 0xFFFFFFFFL;
+      hash ^= ZobristKeys.mix(position ^ ZobristKeys.mix(productKeyOf(factory.getProduct())));
+    }
+    return new Key(hash, turns);
+  }
+
+  private static long productKeyOf(Product product) {
+    if (product == null) {
+      return 0;
+    }
+    long key = ZobristKeys.mix((long) product.getType().ordinal() << 32 | product.getPoints());
+    ResourceVector neededResources = product.getNeededResources();
+    for (int i = 0; i < ResourceVector.SIZE; i++) {
+      key = ZobristKeys.mix(key ^ (long) i << 32 ^ neededResources.get(i));
+    }
+    return key;
+  }
+
+  private record Key(long hash, int turns) {
+
+  }
+}
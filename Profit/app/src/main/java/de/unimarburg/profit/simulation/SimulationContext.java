@@ -0,0 +1,133 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import java.util.Arrays;
+
+/**
+ * Scratch buffers for compiling and simulating a {@link CompiledField}. The buffers only grow, so
+ * a context, that is reused for many simulations, stops allocating once it has seen the largest
+ * field. A context must not be used by more than one thread at a time.
+ *
+ * @author Yannick Kraml
+ */
+final class SimulationContext {
+
+  private int[] stored = new int[0];
+  private int[] inputted = new int[0];
+  private int[] before = new int[0];
+
+  private BaseObject[] objects = new BaseObject[0];
+  private int[] producers = new int[0];
+  private int[] edges = new int[64];
+  private BaseObject[] indexKeys = new BaseObject[0];
+  private int[] indexValues = new int[0];
+
+  /**
+   * Makes sure, that every simulation buffer has at least the given size. The first {@code size}
+   * entries of the inputted buffer are zero afterwards, the content of the other buffers is
+   * undefined.
+   *
+   * @param size Needed number of entries.
+   */
+  void prepare(int size) {
+    if (stored.length < size) {
+      int capacity = Math.max(size, 2 * stored.length);
+      stored = new int[capacity];
+      inputted = new int[capacity];
+      before = new int[capacity];
+    } else {
+      Arrays.fill(inputted, 0, size, 0);
+    }
+  }
+
+  int[] stored() {
+    return stored;
+  }
+
+  int[] inputted() {
+    return inputted;
+  }
+
+  int[] before() {
+    return before;
+  }
+
+  /**
+   * Stores the given objects in this context and indexes them by identity.
+   *
+   * @param source Objects to store.
+   * @param count  Number of objects.
+   * @return Buffer, which contains the objects in its first {@code count} entries.
+   */
+  BaseObject[] index(Iterable<? extends BaseObject> source, int count) {
+    if (objects.length < count) {
+      objects = new BaseObject[Math.max(count, 2 * objects.length)];
+      producers = new int[objects.length];
+    }
+    int capacity = Integer.highestOneBit(Math.max(2 * count, 8) - 1) << 1;
+    if (indexKeys.length < capacity) {
+      indexKeys = new BaseObject[capacity];
+      indexValues = new int[capacity];
+    }
+
+    int i = 0;
+    for (BaseObject object : source) {
+      objects[i] = object;
+      int slot = slot(object);
+      while (indexKeys[slot] != null) {
+        slot = (slot + 1) & (indexKeys.length - 1);
+      }
+      indexKeys[slot] = object;
+      indexValues[slot] = i;
+      i++;
+    }
+    return objects;
+  }
+
+  /**
+   * Returns the position of the given object in the buffer returned by the last call of
+   * {@link #index(Iterable, int)}.
+   *
+   * @param object Object to look up.
+   * @return Position of the object, -1 if it was not indexed.
+   */
+  int indexOf(BaseObject object) {
+    int slot = slot(object);
+    while (indexKeys[slot] != null) {
+      if (indexKeys[slot] == object) {
+        return indexValues[slot];
+      }
+      slot = (slot + 1) & (indexKeys.length - 1);
+    }
+    return -1;
+  }
+
+  /**
+   * Drops all references to the objects stored by {@link #index(Iterable, int)}, so that a context
+   * does not keep a {@link de.unimarburg.profit.model.Field} alive.
+   *
+   * @param count Number of stored objects.
+   */
+  void release(int count) {
+    Arrays.fill(objects, 0, count, null);
+    Arrays.fill(indexKeys, null);
+  }
+
+  int[] producers() {
+    return producers;
+  }
+
+  int[] edges() {
+    return edges;
+  }
+
+  int[] growEdges() {
+    edges = Arrays.copyOf(edges, 2 * edges.length);
+    return edges;
+  }
+
+  private int slot(BaseObject object) {
+    int hash = System.identityHashCode(object);
+    return (hash ^ (hash >>> 16)) & (indexKeys.length - 1);
+  }
+}
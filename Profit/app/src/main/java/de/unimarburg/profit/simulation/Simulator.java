@@ -1,25 +1,58 @@
 package de.unimarburg.profit.simulation;
 
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Field;
-import de.unimarburg.profit.model.Tile;
-import de.unimarburg.profit.model.enums.ResourceType;
-import de.unimarburg.profit.model.enums.TileType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * This class is responsible for simulating a given {@link Field}. {@link Simulator} is a
- * singleton.
+ * singleton, that can be used by many threads at once: every thread simulates in its own reusable
+ * buffers.
+ *
+ * <p>A {@link Field} is split into its connected components, the independent networks of
+ * deposits, mines, conveyors and factories. Their points only depend on their own objects, so
+ * they are simulated one after another or in parallel and summed up.</p>
  *
  * @author Yannick Kraml
  */
 public class Simulator {
 
-  private static Simulator instance;
+  /**
+   * Points of a {@link Field} in a batch, that could not be simulated or was left out, see
+   * {@link #simulateAll(Collection, int, int, Deadline, boolean)}. No {@link Field} can earn these
+   * points.
+   */
+  public static final int NOT_SIMULATED = Integer.MIN_VALUE;
+
+  private static final Simulator INSTANCE = new Simulator();
+  /**
+   * Smallest number of components, that are simulated in parallel. Fewer components are cheaper
+   * to simulate than to distribute.
+   */
+  private static final int MIN_PARALLEL_COMPONENTS = 4;
+  /**
+   * Smallest and largest number of components with the same topology, that are simulated in the
+   * lanes of one run.
+   */
+  private static final int MIN_LANES = 4;
+  private static final int MAX_LANES = 16;
+  /**
+   * Largest number of turns, that are simulated in lanes. Lanes simulate every turn, while a
+   * single run skips steady states, so longer runs are cheaper one by one.
+   */
+  private static final int MAX_LANE_TURNS = 100;
+
+  private final ThreadLocal<SimulationContext> contexts;
 
   private Simulator() {
+    contexts = ThreadLocal.withInitial(SimulationContext::new);
   }
 
   /**
@@ -28,10 +61,7 @@ public class Simulator {
    * @return Instance of {@link Simulator}.
    */
   public static Simulator getInstance() {
-    if (instance == null) {
-      instance = new Simulator();
-    }
-    return instance;
+    return INSTANCE;
   }
 
   /**
@@ -41,103 +71,226 @@ public class Simulator {
    * @return Earned points.
    */
   public int simulate(Field field, int turns) throws SimulateException {
+    return simulate(field, turns, true);
+  }
 
-    Collection<SimulatableObject> objects = field.getAllObjects().stream()
-        .map(SimulatableObject::new).toList();
-
-    Collection<Coupled> coupledObjects = findCoupledObjects(objects, field);
-
-    int points = 0;
-    for (int i = 0; i < turns; i++) {
-      points += simulateRound(objects, coupledObjects);
+  /**
+   * Starts the Simulation with the given {@link Field} like {@link #simulate(Field, int)}.
+   * Callers, that already simulate in their own threads, should not simulate in parallel, so the
+   * components are simulated in the calling thread instead of the common pool.
+   *
+   * @param field    {@link Field} to simulate.
+   * @param turns    Turns, that the {@link Field} will be simulated.
+   * @param parallel Whether the components are simulated in parallel on the common pool.
+   * @return Earned points.
+   * @throws SimulateException If the {@link Field} could not be simulated.
+   */
+  public int simulate(Field field, int turns, boolean parallel) throws SimulateException {
+    List<CompiledField> components = CompiledField.compile(field, contexts.get()).components();
+    if (!parallel || components.size() < MIN_PARALLEL_COMPONENTS) {
+      return simulateComponents(components, turns);
     }
-
-    return points;
+    return components.parallelStream()
+        .mapToInt(component -> component.simulate(turns, contexts.get())).sum();
   }
 
-  private int simulateRound(Collection<SimulatableObject> objects, Collection<Coupled> couples)
-      throws SimulateException {
+  /**
+   * Simulates the given {@link Field} and records the resource flows of every object per turn into
+   * the given {@link FlowTrace}. Every turn is simulated one by one, so tracing is slower than
+   * {@link #simulate(Field, int)}, but earns the same points.
+   *
+   * @param field {@link Field} to simulate.
+   * @param turns Turns, that the {@link Field} will be simulated.
+   * @param trace {@link FlowTrace}, that is cleared and then records the flows.
+   * @return Earned points.
+   * @throws SimulateException If the {@link Field} could not be simulated.
+   */
+  public int simulate(Field field, int turns, FlowTrace trace) throws SimulateException {
+    SimulationContext context = contexts.get();
+    trace.begin(List.copyOf(field.getAllObjectsView()));
+    return CompiledField.compile(field, context).runTraced(turns, trace, context);
+  }
 
-    for (Coupled coupledObject : couples) {
-      for (SimulatableObject giver : coupledObject.givers()) {
+  /**
+   * Computes an upper bound for the points the given {@link Field} can earn, without simulating it.
+   * The bound only considers the capacity and output rate of the deposits, the path lengths from
+   * the deposits to the factories and the resources needed by the products. It is much cheaper
+   * than {@link #simulate(Field, int)} and can be used to skip fields, that cannot earn enough
+   * points.
+   *
+   * @param field {@link Field} to estimate.
+   * @param turns Turns, that the {@link Field} would be simulated.
+   * @return Upper bound for the points returned by {@link #simulate(Field, int)}.
+   * @throws SimulateException If the {@link Field} could not be compiled.
+   */
+  public long estimateUpperBound(Field field, int turns) throws SimulateException {
+    return CompiledField.compile(field, contexts.get()).upperBound(turns);
+  }
 
-        Map<ResourceType, Integer> resourcesToBeMoved = giver.getResourcesToOutput();
-        giver.removeResources(resourcesToBeMoved);
-        coupledObject.receiver().inputResources(resourcesToBeMoved);
+  /**
+   * Simulates all given {@link Field}s in parallel. Every thread reuses its own buffers, so
+   * simulating many fields does not create garbage per field beyond compiling it.
+   *
+   * <p>Candidates of one batch often contain the same networks with other products. The
+   * components of all fields, that share their topology, are simulated together in the lanes of
+   * one run, see {@link CompiledField#runLanes(List, int)}. The other components and the
+   * components of long runs, whose steady states are skipped, are simulated one by one. If the
+   * JVM was started without the module {@code jdk.incubator.vector}, all components are simulated
+   * one by one.</p>
+   *
+   * @param fields {@link Field}s to simulate.
+   * @param turns  Turns, that every {@link Field} will be simulated.
+   * @return Earned points per {@link Field}, in the iteration order of {@code fields}, or
+   *     {@link #NOT_SIMULATED} for the {@link Field}s, that could not be simulated.
+   */
+  public int[] simulateAll(Collection<Field> fields, int turns) {
+    // Every field earns at least 0 points, so no field is left out.
+    return simulateAll(fields, turns, -1, Deadline.never(), true);
+  }
 
+  /**
+   * Simulates all given {@link Field}s like {@link #simulateAll(Collection, int)}, but stops
+   * early, when the given {@link Deadline} expires. The {@link Deadline} is checked before every
+   * {@link Field} is compiled and before every run, so the simulation stops within the time of one
+   * run. A {@link Field}, that could not be compiled or was not simulated completely before the
+   * {@link Deadline} expired, gets the points {@link #NOT_SIMULATED}, the other {@link Field}s
+   * get their points as usual.
+   *
+   * <p>{@link Field}s, that cannot earn more than the given minimum, are left out and get the
+   * points {@link #NOT_SIMULATED} as well. Their upper bound is the sum of the bounds of their
+   * compiled components, see {@link #estimateUpperBound(Field, int)}, so it costs no extra
+   * compiling.</p>
+   *
+   * <p>Callers, that already simulate many batches in their own threads, should not simulate in
+   * parallel, so the batch is simulated in the calling thread instead of the common pool.</p>
+   *
+   * @param fields        {@link Field}s to simulate.
+   * @param turns         Turns, that every {@link Field} will be simulated.
+   * @param minimumPoints Points, that a {@link Field} has to be able to exceed to be simulated.
+   * @param deadline      {@link Deadline}, after which the simulation stops.
+   * @param parallel      Whether the batch is simulated in parallel on the common pool.
+   * @return Earned points per {@link Field}, in the iteration order of {@code fields}, or
+   *     {@link #NOT_SIMULATED} for the {@link Field}s, that were left out or could not be
+   *     simulated.
+   */
+  public int[] simulateAll(Collection<Field> fields, int turns, int minimumPoints,
+      Deadline deadline, boolean parallel) {
+    Field[] batch = fields.toArray(new Field[0]);
+    List<List<CompiledField>> compiled = new ArrayList<>(Collections.nCopies(batch.length, null));
+
+    maybeParallel(IntStream.range(0, batch.length), parallel).forEach(i -> {
+      if (deadline.isExpired()) {
+        return;
+      }
+      try {
+        compiled.set(i, CompiledField.compile(batch[i], contexts.get()).components());
+      } catch (SimulateException e) {
+        // Only this field is not simulated, its slot stays empty.
+      }
+    });
+
+    // Fields and components, that cannot earn enough points, are left out before grouping.
+    List<CompiledField> components = new ArrayList<>();
+    List<Integer> owners = new ArrayList<>();
+    Map<Topology, List<Integer>> groups = new HashMap<>();
+    for (int i = 0; i < batch.length; i++) {
+      if (compiled.get(i) == null) {
+        continue;
+      }
+      long[] bounds = new long[compiled.get(i).size()];
+      long fieldBound = 0;
+      for (int c = 0; c < bounds.length; c++) {
+        bounds[c] = compiled.get(i).get(c).upperBound(turns);
+        fieldBound += bounds[c];
+      }
+      if (fieldBound <= minimumPoints) {
+        compiled.set(i, null);
+        continue;
+      }
+      for (int c = 0; c < bounds.length; c++) {
+        if (bounds[c] > 0) {
+          CompiledField component = compiled.get(i).get(c);
+          groups.computeIfAbsent(new Topology(component), topology -> new ArrayList<>())
+              .add(components.size());
+          components.add(component);
+          owners.add(i);
+        }
       }
     }
 
-    int points = objects.stream().mapToInt(SimulatableObject::doWorkForPoints).sum();
-    objects.forEach(SimulatableObject::transfer);
-
-    return points;
-  }
-
-  private Collection<Coupled> findCoupledObjects(Collection<SimulatableObject> simulatableObjects,
-      Field field) throws SimulateException {
-
-    Collection<Coupled> coupledObjects = new ArrayList<>();
-
-    for (SimulatableObject simulatableObject : simulatableObjects) {
-
-      Collection<SimulatableObject> objectsToCouple = new ArrayList<>();
-
-      for (Tile tile : simulatableObject.getWorker().getTiles()) {
-
-        int x = tile.getRelHorPos() + simulatableObject.getWorker().getX();
-        int y = tile.getRelVerPos() + simulatableObject.getWorker().getY();
-
-        for (Tile neighbor : getNeighbors(field, x, y)) {
-          if (areConnected(tile, neighbor)) {
-            objectsToCouple.add(getSimulatedObjectByTile(simulatableObjects, neighbor));
-          }
+    List<List<Integer>> runs = new ArrayList<>();
+    for (List<Integer> group : groups.values()) {
+      if (!CompiledField.LANES_AVAILABLE || group.size() < MIN_LANES
+          || turns > MAX_LANE_TURNS) {
+        group.forEach(index -> runs.add(List.of(index)));
+      } else {
+        for (int from = 0; from < group.size(); from += MAX_LANES) {
+          runs.add(group.subList(from, Math.min(group.size(), from + MAX_LANES)));
         }
-
       }
+    }
 
-      if (!objectsToCouple.isEmpty()) {
-        coupledObjects.add(new Coupled(simulatableObject, objectsToCouple));
+    int[] componentPoints = new int[components.size()];
+    Arrays.fill(componentPoints, NOT_SIMULATED);
+    maybeParallel(IntStream.range(0, runs.size()), parallel).forEach(r -> {
+      if (deadline.isExpired()) {
+        return;
+      }
+      List<Integer> run = runs.get(r);
+      if (run.size() == 1) {
+        componentPoints[run.get(0)] = components.get(run.get(0)).run(turns, true, contexts.get());
+      } else {
+        int[] lanePoints = CompiledField.runLanes(run.stream().map(components::get).toList(),
+            turns);
+        for (int l = 0; l < run.size(); l++) {
+          componentPoints[run.get(l)] = lanePoints[l];
+        }
       }
+    });
 
+    int[] points = new int[batch.length];
+    for (int i = 0; i < batch.length; i++) {
+      if (compiled.get(i) == null) {
+        points[i] = NOT_SIMULATED;
+      }
     }
-
-    return coupledObjects;
+    for (int c = 0; c < componentPoints.length; c++) {
+      int owner = owners.get(c);
+      if (componentPoints[c] == NOT_SIMULATED || points[owner] == NOT_SIMULATED) {
+        points[owner] = NOT_SIMULATED;
+      } else {
+        points[owner] += componentPoints[c];
+      }
+    }
+    return points;
   }
 
-  private Collection<Tile> getNeighbors(Field field, int x, int y) {
-    Collection<Tile> neighbors = new LinkedList<>();
-    addNeighbor(neighbors, field, x + 1, y);
-    addNeighbor(neighbors, field, x - 1, y);
-    addNeighbor(neighbors, field, x, y + 1);
-    addNeighbor(neighbors, field, x, y - 1);
-    return neighbors;
+  private static IntStream maybeParallel(IntStream stream, boolean parallel) {
+    return parallel ? stream.parallel() : stream;
   }
 
-  private void addNeighbor(Collection<Tile> neighbors, Field field, int x, int y) {
-    Tile[][] array = field.getTiles();
-    if (x >= 0 && y >= 0 && x < array.length && y < array[x].length) {
-      neighbors.add(array[x][y]);
+  private int simulateComponents(List<CompiledField> components, int turns) {
+    SimulationContext context = contexts.get();
+    int points = 0;
+    for (CompiledField component : components) {
+      points += component.simulate(turns, context);
     }
+    return points;
   }
 
-  private boolean areConnected(Tile tile, Tile neighbor) {
-    return neighbor.getType().equals(TileType.OUTPUT) && tile.getType().equals(TileType.INPUT)
-        || neighbor.getType().equals(TileType.DEPOSIT_OUTPUT) && tile.getType()
-        .equals(TileType.MINE_INPUT);
-  }
-
-
-  private SimulatableObject getSimulatedObjectByTile(
-      Collection<SimulatableObject> simulatableObjects, Tile tile) throws SimulateException {
+  /**
+   * Key of the components, that can be simulated in the lanes of one run.
+   */
+  private record Topology(CompiledField field) {
 
-    for (SimulatableObject simulatableObject : simulatableObjects) {
-      if (tile.getObject().isPresent() && simulatableObject.getWorker()
-          .equals(tile.getObject().get())) {
-        return simulatableObject;
-      }
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Topology other && field.hasSameTopology(other.field);
     }
 
-    throw new SimulateException("Simulatable object not found.");
+    @Override
+    public int hashCode() {
+      return field.topologyHashCode();
+    }
   }
 }
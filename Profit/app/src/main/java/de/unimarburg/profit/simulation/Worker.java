@@ -1,9 +1,7 @@
 package de.unimarburg.profit.simulation;
 
+import de.unimarburg.profit.model.ResourceVector;
 import de.unimarburg.profit.model.Tile;
-import de.unimarburg.profit.model.enums.ResourceType;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Interface for anything, that can work and therefore can be simulated.
@@ -14,35 +12,45 @@ public interface Worker {
 
 
   /**
-   * Takes a map of stored resources, removes resources from it and generates points.
+   * Takes the stored resources, removes resources from them and generates points.
    *
-   * @param storedResources Map, which contains the current resources
+   * @param storedResources {@link ResourceVector}, which contains the current resources
    * @return Points generated
    */
-  default int doWorkForPoints(Map<ResourceType, Integer> storedResources) {
+  default int doWorkForPoints(ResourceVector storedResources) {
     return 0;
   }
 
 
   /**
-   * Generates a map, that contains all resources the worker should start with.
+   * Generates the resources the worker should start with.
    *
-   * @return Map of all starting resources
+   * @return {@link ResourceVector} of all starting resources
    */
-  default Map<ResourceType, Integer> getStartResources() {
-    return new HashMap<>();
+  default ResourceVector getStartResources() {
+    return new ResourceVector();
   }
 
 
   /**
    * Checks the stored resources and decides, which of these should be outputted next.
    *
-   * @param storedResources Map, which contains the current resources
-   * @return Map, which contains all resources, which should be outputted next
+   * @param storedResources {@link ResourceVector}, which contains the current resources
+   * @return {@link ResourceVector}, which contains all resources, which should be outputted next
    */
-  default Map<ResourceType, Integer> getResourcesToOutput(
-      Map<ResourceType, Integer> storedResources) {
-    return new HashMap<>();
+  default ResourceVector getResourcesToOutput(ResourceVector storedResources) {
+    return new ResourceVector();
+  }
+
+  /**
+   * Returns how many units of each {@link de.unimarburg.profit.model.enums.ResourceType} this
+   * {@link Worker} hands to a single connected receiver per turn. Has to be consistent with
+   * {@link #getResourcesToOutput(ResourceVector)}.
+   *
+   * @return Maximal amount per resource type and receiver, 0 if this worker never outputs.
+   */
+  default int getOutputLimit() {
+    return 0;
   }
 
   /**
@@ -48,7 +48,7 @@ public class FieldDrawPanel extends JPanel {
     super.paintComponent(g);
 
     //Objects
-    field.getAllObjects().forEach(baseObject -> drawBaseObject(baseObject, g));
+    field.getAllObjectsView().forEach(baseObject -> drawBaseObject(baseObject, g));
 
     //Horizontal Lines
     g.setColor(LINE_COLOR);
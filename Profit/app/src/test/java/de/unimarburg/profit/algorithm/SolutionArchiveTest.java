@@ -0,0 +1,66 @@
+package de.unimarburg.profit.algorithm;
+
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SolutionArchiveTest {
+
+  private static Field fieldWithFactoryAt(int x, int y) throws CouldNotPlaceObjectException {
+    Field field = new Field(40, 40);
+    field.addBaseObject(Factory.createFactoryWithoutProduct(x, y));
+    return field;
+  }
+
+  @Test
+  public void keepsBestSolutionsWithEqualPoints() throws CouldNotPlaceObjectException {
+    SolutionArchive archive = new SolutionArchive(2);
+    Field first = fieldWithFactoryAt(0, 0);
+    Field second = fieldWithFactoryAt(16, 0);
+    Field third = fieldWithFactoryAt(32, 0);
+
+    Assertions.assertTrue(archive.offer(first, 10));
+    Assertions.assertTrue(archive.offer(second, 10));
+    Assertions.assertEquals(10, archive.getMinimumPoints());
+    Assertions.assertFalse(archive.offer(third, 10));
+    Assertions.assertFalse(archive.offer(fieldWithFactoryAt(0, 16), 0));
+
+    Assertions.assertTrue(archive.offer(third, 20));
+    Assertions.assertEquals(2, archive.size());
+    Assertions.assertSame(third, archive.getSolutions().get(0));
+    Assertions.assertSame(third, archive.getBest().orElseThrow());
+  }
+
+  @Test
+  public void keepsOneSolutionPerFootprint() throws CouldNotPlaceObjectException {
+    SolutionArchive archive = new SolutionArchive(4);
+    Field worse = fieldWithFactoryAt(0, 0);
+    Field better = fieldWithFactoryAt(1, 1);
+
+    Assertions.assertTrue(archive.offer(worse, 10));
+    Assertions.assertTrue(archive.offer(better, 20));
+    Assertions.assertFalse(archive.offer(fieldWithFactoryAt(2, 2), 15));
+    Assertions.assertEquals(List.of(better), archive.getSolutions());
+    Assertions.assertEquals(0, archive.getMinimumPoints());
+  }
+
+  @Test
+  public void concurrentOffersKeepBestSolutions() {
+    SolutionArchive archive = new SolutionArchive(8);
+    CompletableFuture.allOf(IntStream.range(0, 25).mapToObj(i -> CompletableFuture.runAsync(() -> {
+      try {
+        archive.offer(fieldWithFactoryAt(i % 5 * 8, i / 5 * 8), i + 1);
+      } catch (CouldNotPlaceObjectException e) {
+        throw new RuntimeException(e);
+      }
+    })).toArray(CompletableFuture[]::new)).join();
+
+    Assertions.assertEquals(8, archive.size());
+    Assertions.assertEquals(18, archive.getMinimumPoints());
+  }
+}
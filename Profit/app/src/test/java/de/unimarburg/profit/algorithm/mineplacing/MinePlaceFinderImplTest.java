@@ -47,10 +47,10 @@ class MinePlaceFinderImplTest {
 
     Map<Mine, Deposit> placedMines = new HashMap<>();
     placedMines.put(Mine.createMine(0, 0, MineSubType.OUTPUT_EAST), d1);
-    placedMines.put(Mine.createMine(0, 0, MineSubType.OUTPUT_EAST), d1);
-    placedMines.put(Mine.createMine(0, 0, MineSubType.OUTPUT_EAST), d1);
-    placedMines.put(Mine.createMine(0, 0, MineSubType.OUTPUT_EAST), d2);
-    placedMines.put(Mine.createMine(0, 0, MineSubType.OUTPUT_EAST), d2);
+    placedMines.put(Mine.createMine(1, 0, MineSubType.OUTPUT_EAST), d1);
+    placedMines.put(Mine.createMine(2, 0, MineSubType.OUTPUT_EAST), d1);
+    placedMines.put(Mine.createMine(3, 0, MineSubType.OUTPUT_EAST), d2);
+    placedMines.put(Mine.createMine(4, 0, MineSubType.OUTPUT_EAST), d2);
 
     Collection<MineWithResources> minesWithResources = minePlaceFinder.calcResourcesFromMines(
         placedMines);
@@ -37,9 +37,9 @@ class CombinationFinderImplTest {
 
     Map<Mine, Deposit> connectableMines = new HashMap<>();
     connectableMines.put(Mine.createMine(10, 10, MineSubType.OUTPUT_NORTH), deposit1);
-    connectableMines.put(Mine.createMine(10, 10, MineSubType.OUTPUT_NORTH), deposit2);
-    connectableMines.put(Mine.createMine(10, 10, MineSubType.OUTPUT_NORTH), deposit3);
-    connectableMines.put(Mine.createMine(10, 10, MineSubType.OUTPUT_NORTH), deposit4);
+    connectableMines.put(Mine.createMine(20, 10, MineSubType.OUTPUT_NORTH), deposit2);
+    connectableMines.put(Mine.createMine(30, 10, MineSubType.OUTPUT_NORTH), deposit3);
+    connectableMines.put(Mine.createMine(40, 10, MineSubType.OUTPUT_NORTH), deposit4);
 
     Collection<MineWithResources> mineWithResources = new MinePlaceFinderImpl().calcResourcesFromMines(
         connectableMines);
@@ -0,0 +1,53 @@
+package de.unimarburg.profit.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+
+  @Test
+  public void expiresAfterTime() throws InterruptedException {
+    Deadline deadline = Deadline.afterMillis(20);
+    Assertions.assertFalse(deadline.isExpired());
+    Assertions.assertTrue(deadline.remainingMillis() <= 20);
+
+    Thread.sleep(30);
+    Assertions.assertTrue(deadline.isExpired());
+    Assertions.assertEquals(0, deadline.remainingMillis());
+  }
+
+  @Test
+  public void cancellingParentExpiresChild() {
+    Deadline parent = Deadline.never();
+    Deadline child = parent.within(60 * 1000);
+    Assertions.assertEquals(Long.MAX_VALUE, parent.remainingMillis());
+    Assertions.assertFalse(child.isExpired());
+
+    parent.cancel();
+    Assertions.assertTrue(parent.isExpired());
+    Assertions.assertTrue(child.isExpired());
+  }
+
+  @Test
+  public void childDoesNotOutliveParent() {
+    Deadline parent = Deadline.afterMillis(1000);
+    Assertions.assertTrue(parent.within(60 * 1000).remainingMillis() <= 1000);
+    Assertions.assertTrue(parent.within(10).remainingMillis() <= 10);
+  }
+
+  @Test
+  public void cancellingParentRunsListenersOfChild() {
+    Deadline parent = Deadline.never();
+    Deadline child = parent.within(60 * 1000);
+    AtomicInteger runs = new AtomicInteger();
+    Runnable listener = runs::incrementAndGet;
+
+    child.addCancelListener(listener);
+    parent.cancel();
+    Assertions.assertEquals(1, runs.get());
+    child.removeCancelListener(listener);
+    child.cancel();
+    Assertions.assertEquals(1, runs.get());
+  }
+}
@@ -0,0 +1,153 @@
+package de.unimarburg.profit.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class TaskSchedulerTest {
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void pendingTasksAreBounded() throws InterruptedException {
+    TaskScheduler scheduler = new TaskScheduler(executor, 2, Deadline.never());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      int value = i;
+      futures.add(scheduler.submit(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(2);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        return value;
+      }, Deadline.never()));
+    }
+
+    Assertions.assertTrue(scheduler.awaitIdle(5000));
+    Assertions.assertTrue(maxRunning.get() <= 2);
+    for (int i = 0; i < futures.size(); i++) {
+      Assertions.assertEquals(i, futures.get(i).join());
+    }
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void taskAfterDependenciesSeesTheirResults() {
+    TaskScheduler scheduler = new TaskScheduler(executor, 4, Deadline.never());
+    CompletableFuture<Integer> first = scheduler.submit(() -> 1, Deadline.never());
+    CompletableFuture<Integer> second = scheduler.submit(() -> 2, Deadline.never());
+    AtomicInteger sum = new AtomicInteger();
+
+    scheduler.submitAfter(List.of(first, second),
+        () -> sum.set(first.join() + second.join()), Deadline.never()).join();
+    Assertions.assertEquals(3, sum.get());
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void cancellingWakesUpBlockedSubmitter() throws InterruptedException {
+    Deadline deadline = Deadline.never();
+    TaskScheduler scheduler = new TaskScheduler(executor, 1, Deadline.never());
+    CountDownLatch release = new CountDownLatch(1);
+    scheduler.submit(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }, Deadline.never());
+
+    CompletableFuture<Object> blocked = CompletableFuture.supplyAsync(
+        () -> scheduler.submit(() -> "not started", deadline).join());
+    Thread.sleep(20);
+    Assertions.assertFalse(blocked.isDone());
+
+    deadline.cancel();
+    Assertions.assertThrows(CompletionException.class, blocked::join);
+    release.countDown();
+    Assertions.assertTrue(scheduler.awaitIdle(5000));
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void endOfDeadlineWakesUpBlockedSubmitter() throws InterruptedException {
+    TaskScheduler scheduler = new TaskScheduler(executor, 1, Deadline.never());
+    CountDownLatch release = new CountDownLatch(1);
+    scheduler.submit(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }, Deadline.never());
+
+    long start = System.nanoTime();
+    CompletableFuture<String> notStarted = scheduler.submit(() -> "not started",
+        Deadline.afterMillis(50));
+    long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    Assertions.assertTrue(notStarted.isCompletedExceptionally());
+    Assertions.assertTrue(waitedMillis >= 40 && waitedMillis < 1000, waitedMillis + " ms");
+
+    release.countDown();
+    Assertions.assertTrue(scheduler.awaitIdle(5000));
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void taskAfterDependenciesStartsAfterDeadlineOfSubmission()
+      throws InterruptedException {
+    TaskScheduler scheduler = new TaskScheduler(executor, 4, Deadline.never());
+    Deadline deadline = Deadline.never();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Integer> dependency = scheduler.submit(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    }, deadline);
+    AtomicInteger result = new AtomicInteger();
+    CompletableFuture<Void> after = scheduler.submitAfter(List.of(dependency),
+        () -> result.set(dependency.join()), deadline);
+
+    started.await();
+    deadline.cancel();
+    Assertions.assertTrue(scheduler.submit(() -> 2, deadline).isCompletedExceptionally());
+    release.countDown();
+    after.join();
+    Assertions.assertEquals(1, result.get());
+  }
+}
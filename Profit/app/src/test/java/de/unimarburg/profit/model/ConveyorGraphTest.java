@@ -0,0 +1,75 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.enums.TileType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConveyorGraphTest {
+
+  private final Field field = new Field(15, 12);
+
+  @BeforeEach
+  public void init() throws CouldNotPlaceObjectException {
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 1, 1, 3, 3));
+    field.addBaseObject(Obstacle.createObstacle(8, 4, 2, 5));
+  }
+
+  @Test
+  public void movesAvoidFixedObjects() {
+    ConveyorGraph graph = field.getConveyorGraph();
+
+    for (int x = -1; x <= field.getWidth(); x++) {
+      for (int y = -1; y <= field.getHeight(); y++) {
+        for (ConveyorSubType subType : ConveyorSubType.values()) {
+          Conveyor conveyor = createConveyorWithInputAt(x, y, subType);
+          boolean free = true;
+          for (Tile tile : conveyor.getTiles()) {
+            int tileX = conveyor.getX() + tile.getRelHorPos();
+            int tileY = conveyor.getY() + tile.getRelVerPos();
+            free = free && field.isInside(tileX, tileY)
+                && field.getTileType(tileX, tileY) == TileType.EMPTY;
+          }
+          Assertions.assertEquals(free, graph.hasMove(x, y, subType));
+          if (field.baseObjectCanBePlaced(conveyor)) {
+            Assertions.assertTrue(graph.hasMove(x, y, subType));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void movesOfACellMatchTheirConveyors() {
+    ConveyorGraph graph = field.getConveyorGraph();
+
+    for (int x = 0; x < field.getWidth(); x++) {
+      for (int y = 0; y < field.getHeight(); y++) {
+        int count = 0;
+        for (int move = graph.firstMove(x, y); move < graph.endOfMoves(x, y); move++) {
+          Conveyor conveyor = createConveyorWithInputAt(x, y, graph.getSubType(move));
+          Assertions.assertEquals(conveyor.getX(), graph.getConveyorX(move));
+          Assertions.assertEquals(conveyor.getY(), graph.getConveyorY(move));
+          Tile output = conveyor.getTiles()[conveyor.getTiles().length - 1];
+          Assertions.assertEquals(TileType.OUTPUT, output.getType());
+          Assertions.assertEquals(conveyor.getX() + output.getRelHorPos(), graph.getOutputX(move));
+          Assertions.assertEquals(conveyor.getY() + output.getRelVerPos(), graph.getOutputY(move));
+          count++;
+        }
+        for (ConveyorSubType subType : ConveyorSubType.values()) {
+          count -= graph.hasMove(x, y, subType) ? 1 : 0;
+        }
+        Assertions.assertEquals(0, count);
+      }
+    }
+  }
+
+  private static Conveyor createConveyorWithInputAt(int x, int y, ConveyorSubType subType) {
+    Tile input = Conveyor.createConveyor(0, 0, subType).getTiles()[0];
+    Assertions.assertEquals(TileType.INPUT, input.getType());
+    return Conveyor.createConveyor(x - input.getRelHorPos(), y - input.getRelVerPos(), subType);
+  }
+}
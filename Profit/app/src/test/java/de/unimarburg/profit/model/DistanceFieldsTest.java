@@ -0,0 +1,59 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DistanceFieldsTest {
+
+  private final Field field = new Field(20, 10);
+  private final Deposit left = Deposit.createDeposit(ResourceType.ZERO, 0, 0, 2, 2);
+  private final Deposit right = Deposit.createDeposit(ResourceType.ONE, 18, 0, 2, 2);
+
+  @BeforeEach
+  public void init() throws CouldNotPlaceObjectException {
+    field.addBaseObject(left);
+    field.addBaseObject(right);
+    // A wall with a gap in the bottom row.
+    field.addBaseObject(Obstacle.createObstacle(5, 0, 1, 9));
+  }
+
+  @Test
+  public void pathsGoAroundObstacles() {
+    DistanceField distances = field.getDistanceFields().get(left);
+
+    Assertions.assertEquals(1, distances.getDistance(2, 0));
+    Assertions.assertEquals(2, distances.getDistance(3, 0));
+    Assertions.assertEquals(DistanceField.UNREACHABLE, distances.getDistance(5, 0));
+    // Down to the gap in row 9, through it and up again.
+    Assertions.assertEquals(8 + 5 + 9, distances.getDistance(6, 0));
+    Assertions.assertEquals(DistanceField.UNREACHABLE, distances.getDistance(-1, 0));
+  }
+
+  @Test
+  public void nearestDepositIsTheMinimum() {
+    DistanceFields distanceFields = field.getDistanceFields();
+    DistanceField nearest = distanceFields.getNearestDeposit();
+
+    for (int x = 0; x < field.getWidth(); x++) {
+      for (int y = 0; y < field.getHeight(); y++) {
+        Assertions.assertEquals(Math.min(distanceFields.get(left).getDistance(x, y),
+            distanceFields.get(right).getDistance(x, y)), nearest.getDistance(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void movableObjectsDoNotBlockPaths() throws CouldNotPlaceObjectException {
+    DistanceFields distanceFields = field.getDistanceFields();
+    Field copy = field.copy();
+    copy.addBaseObject(Mine.createMine(8, 4, MineSubType.OUTPUT_EAST));
+
+    Assertions.assertSame(distanceFields, copy.getDistanceFields());
+    Assertions.assertNull(copy.getDistanceFields().get(
+        Deposit.createDeposit(ResourceType.ZERO, 0, 0, 2, 2)));
+  }
+}
@@ -7,11 +7,14 @@ import de.unimarburg.profit.model.enums.ConveyorSubType;
 import de.unimarburg.profit.model.enums.MineSubType;
 import de.unimarburg.profit.model.enums.ProductType;
 import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.enums.TileType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
 import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -215,4 +218,231 @@ public class FieldTest {
     Assertions.assertTrue(movableObjects.contains(factory));
 
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testEqualObjectsAreFound()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    field.addBaseObject(Mine.createMine(5, 5, MineSubType.OUTPUT_EAST));
+    Mine equalMine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+
+    Assertions.assertFalse(field.containsObject(equalMine));
+    Assertions.assertTrue(field.getObjectsOfClassView(Mine.class).contains(equalMine));
+    Assertions.assertFalse(field.getObjectsOfClassView(Mine.class)
+        .contains(Mine.createMine(5, 5, MineSubType.OUTPUT_WEST)));
+
+    field.removeBaseObject(equalMine);
+    Assertions.assertTrue(field.getAllObjects().isEmpty());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testCopyIsIndependent()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    BaseObject mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    field.addBaseObject(mine);
+
+    Field copy = field.copy();
+    BaseObject conveyor = Conveyor.createConveyor(9, 6, ConveyorSubType.SHORT_OUTPUT_EAST);
+    copy.addBaseObject(conveyor);
+    copy.removeBaseObject(mine);
+
+    Assertions.assertEquals(mine, field.getObjectAt(5, 5).orElseThrow());
+    Assertions.assertEquals(TileType.EMPTY, field.getTileType(8, 6));
+    Assertions.assertTrue(copy.getObjectAt(5, 5).isEmpty());
+    Assertions.assertEquals(TileType.INPUT, copy.getTileType(8, 6));
+    Assertions.assertEquals(conveyor, copy.getObjectAt(9, 6).orElseThrow());
+    Assertions.assertEquals(TileType.INPUT, copy.getTiles()[8][6].getType());
+  }
+
+  @Test
+  public void testOriginalChangesAfterCopy()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    BaseObject mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    field.addBaseObject(mine);
+
+    Field copy = field.copy();
+    Field secondCopy = field.copy();
+    field.removeBaseObject(mine);
+    field.addBaseObject(Conveyor.createConveyor(6, 6, ConveyorSubType.SHORT_OUTPUT_EAST));
+
+    Assertions.assertEquals(mine, copy.getObjectAt(5, 5).orElseThrow());
+    Assertions.assertEquals(mine, secondCopy.getObjectAt(5, 5).orElseThrow());
+    Assertions.assertEquals(1, copy.getAllObjects().size());
+    Assertions.assertEquals(TileType.INPUT, field.getTileType(5, 6));
+    Assertions.assertEquals(1, field.getAllObjects().size());
+  }
+
+  @Test
+  public void testCopiesMadeByManyThreads() throws CouldNotPlaceObjectException {
+    BaseObject mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    field.addBaseObject(mine);
+
+    List<Field> copies = IntStream.range(0, 16).parallel().mapToObj(i -> {
+      Field copy = field.copy();
+      try {
+        copy.addBaseObject(Conveyor.createConveyor(20, 2 * i, ConveyorSubType.SHORT_OUTPUT_EAST));
+      } catch (CouldNotPlaceObjectException e) {
+        throw new IllegalStateException(e);
+      }
+      return copy;
+    }).toList();
+    field.addBaseObject(Conveyor.createConveyor(9, 6, ConveyorSubType.SHORT_OUTPUT_EAST));
+
+    Assertions.assertEquals(2, field.getAllObjects().size());
+    Assertions.assertEquals(TileType.EMPTY, field.getTileType(20, 0));
+    for (int i = 0; i < copies.size(); i++) {
+      Field copy = copies.get(i);
+      Assertions.assertEquals(2, copy.getAllObjects().size());
+      Assertions.assertEquals(TileType.EMPTY, copy.getTileType(8, 6));
+      Assertions.assertTrue(copy.getObjectAt(20, 2 * i).isPresent());
+      Assertions.assertEquals(mine, copy.getObjectAt(5, 5).orElseThrow());
+    }
+  }
+
+  @Test
+  public void testRollbackRestoresCrossedCells()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    BaseObject east = Conveyor.createConveyor(10, 10, ConveyorSubType.SHORT_OUTPUT_EAST);
+    BaseObject mine = Mine.createMine(20, 20, MineSubType.OUTPUT_EAST);
+    field.addBaseObject(east);
+    field.addBaseObject(mine);
+
+    int mark = field.mark();
+    field.addBaseObject(Conveyor.createConveyor(10, 10, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.removeBaseObject(mine);
+    field.rollbackTo(mark);
+
+    Assertions.assertEquals(Set.of(east, mine), Set.copyOf(field.getAllObjects()));
+    Assertions.assertEquals(east, field.getObjectAt(10, 10).orElseThrow());
+    Assertions.assertEquals(TileType.CROSSABLE, field.getTileType(10, 10));
+    Assertions.assertEquals(TileType.EMPTY, field.getTileType(10, 9));
+    Assertions.assertEquals(mine, field.getObjectAt(20, 20).orElseThrow());
+  }
+
+  @Test
+  public void testNestedMarks() throws CouldNotPlaceObjectException {
+    BaseObject first = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    BaseObject second = Mine.createMine(20, 20, MineSubType.OUTPUT_EAST);
+
+    int outer = field.mark();
+    field.addBaseObject(first);
+    int inner = field.mark();
+    field.addBaseObject(second);
+    field.commit(inner);
+    Assertions.assertEquals(2, field.getAllObjects().size());
+
+    field.rollbackTo(outer);
+    Assertions.assertTrue(field.getAllObjects().isEmpty());
+    Assertions.assertEquals(TileType.EMPTY, field.getTileType(5, 5));
+    assertThrows(IllegalStateException.class, () -> field.rollbackTo(outer));
+  }
+
+  @Test
+  public void testViewsFollowChanges()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    Collection<Mine> mines = field.getObjectsOfClassView(Mine.class);
+    Collection<MovableObject> movableObjects = field.getMovableObjectsView();
+    Collection<BaseObject> allObjects = field.getAllObjectsView();
+    Assertions.assertTrue(mines.isEmpty());
+    Assertions.assertTrue(field.getObjectsOfClass(Conveyor.class).isEmpty());
+
+    Mine first = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    Mine second = Mine.createMine(20, 5, MineSubType.OUTPUT_EAST);
+    BaseObject obstacle = Obstacle.createObstacle(40, 40, 2, 2);
+    field.addBaseObject(first);
+    field.addBaseObject(second);
+    field.addBaseObject(obstacle);
+
+    Assertions.assertEquals(List.of(first, second), List.copyOf(mines));
+    Assertions.assertEquals(2, movableObjects.size());
+    Assertions.assertEquals(3, allObjects.size());
+    Assertions.assertEquals(2, field.countObjectsOfClass(Mine.class));
+    Assertions.assertTrue(field.containsObject(obstacle));
+    Assertions.assertFalse(movableObjects.contains(obstacle));
+
+    field.removeBaseObject(first);
+    Assertions.assertEquals(List.of(second), List.copyOf(mines));
+    Assertions.assertFalse(field.containsObject(first));
+    Assertions.assertEquals(2, allObjects.size());
+    assertThrows(UnsupportedOperationException.class, () -> mines.add(first));
+  }
+
+  @Test
+  public void testZobristHashOnlyDependsOnObjects()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    BaseObject mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    BaseObject conveyor = Conveyor.createConveyor(20, 20, ConveyorSubType.SHORT_OUTPUT_EAST);
+    long emptyHash = field.getZobristHash();
+    field.addBaseObject(mine);
+    field.addBaseObject(conveyor);
+
+    Field other = new Field(100, 100);
+    other.addBaseObject(Conveyor.createConveyor(20, 20, ConveyorSubType.SHORT_OUTPUT_EAST));
+    other.addBaseObject(Mine.createMine(5, 5, MineSubType.OUTPUT_EAST));
+    Assertions.assertEquals(field.getZobristHash(), other.getZobristHash());
+    Assertions.assertEquals(field.getZobristHash(), field.copy().getZobristHash());
+
+    long hash = field.getZobristHash();
+    int mark = field.mark();
+    field.removeBaseObject(mine);
+    Assertions.assertNotEquals(hash, field.getZobristHash());
+    field.addBaseObject(Mine.createMine(5, 6, MineSubType.OUTPUT_EAST));
+    Assertions.assertNotEquals(hash, field.getZobristHash());
+    field.rollbackTo(mark);
+    Assertions.assertEquals(hash, field.getZobristHash());
+
+    field.removeBaseObject(mine);
+    field.removeBaseObject(conveyor);
+    Assertions.assertEquals(emptyHash, field.getZobristHash());
+  }
+
+  @Test
+  public void testEmptyAreasFollowChanges() throws CouldNotPlaceObjectException {
+    Assertions.assertTrue(field.isAreaEmpty(0, 0, 100, 100));
+    Assertions.assertFalse(field.isAreaEmpty(96, 0, 5, 5));
+
+    field.addBaseObject(Obstacle.createObstacle(10, 10, 2, 2));
+    Field copy = field.copy();
+    int mark = field.mark();
+    field.addBaseObject(Mine.createMine(30, 30, MineSubType.OUTPUT_EAST));
+
+    Assertions.assertFalse(field.isAreaEmpty(7, 7, 5, 5));
+    Assertions.assertTrue(field.isAreaEmpty(12, 7, 5, 5));
+    Assertions.assertFalse(field.isAreaEmpty(28, 28, 5, 5));
+    Assertions.assertTrue(copy.isAreaEmpty(28, 28, 5, 5));
+
+    Bitboard areas = field.findEmptyAreas(5, 5);
+    for (int x = -1; x < 101; x++) {
+      for (int y = -1; y < 101; y++) {
+        Assertions.assertEquals(field.isAreaEmpty(x, y, 5, 5), areas.contains(x, y));
+      }
+    }
+
+    field.rollbackTo(mark);
+    Assertions.assertTrue(field.isAreaEmpty(28, 28, 5, 5));
+  }
+
+  @Test
+  public void testNeighborRulesFollowChanges()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException {
+    BaseObject first = Conveyor.createConveyor(10, 10, ConveyorSubType.SHORT_OUTPUT_EAST);
+    BaseObject second = Conveyor.createConveyor(13, 10, ConveyorSubType.SHORT_OUTPUT_EAST);
+    BaseObject third = Conveyor.createConveyor(11, 12, ConveyorSubType.SHORT_OUTPUT_SOUTH);
+    field.addBaseObject(first);
+    Assertions.assertTrue(field.baseObjectCanBePlaced(third));
+
+    field.addBaseObject(second);
+    Field copy = field.copy();
+    Assertions.assertFalse(field.baseObjectCanBePlaced(third));
+
+    int mark = field.mark();
+    field.removeBaseObject(second);
+    Assertions.assertTrue(field.baseObjectCanBePlaced(third));
+    Assertions.assertFalse(copy.baseObjectCanBePlaced(third));
+
+    field.rollbackTo(mark);
+    Assertions.assertFalse(field.baseObjectCanBePlaced(third));
+    field.removeBaseObject(first);
+    Assertions.assertTrue(field.baseObjectCanBePlaced(third));
+  }
+}
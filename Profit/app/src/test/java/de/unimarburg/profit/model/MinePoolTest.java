@@ -0,0 +1,43 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MinePoolTest {
+
+  @Test
+  public void equalMinesShareInstanceAndId() {
+    MinePool pool = new Field(20, 20).getMinePool();
+    Mine first = pool.intern(3, 4, MineSubType.OUTPUT_EAST);
+    Mine second = pool.intern(3, 4, MineSubType.OUTPUT_SOUTH);
+
+    Assertions.assertSame(first, pool.intern(Mine.createMine(3, 4, MineSubType.OUTPUT_EAST)));
+    Assertions.assertEquals(0, pool.idOf(first));
+    Assertions.assertEquals(1, pool.idOf(Mine.createMine(3, 4, MineSubType.OUTPUT_SOUTH)));
+    Assertions.assertSame(second, pool.getMine(1));
+    Assertions.assertEquals(2, pool.size());
+  }
+
+  @Test
+  public void copiesSharePool() {
+    Field field = new Field(20, 20);
+    Assertions.assertSame(field.getMinePool(), field.copy().getMinePool());
+  }
+
+  @Test
+  public void valueObjectsCanBeHashed() {
+    Set<BaseObject> objects = Set.of(Mine.createMine(1, 1, MineSubType.OUTPUT_EAST),
+        Conveyor.createConveyor(1, 1, ConveyorSubType.SHORT_OUTPUT_EAST),
+        Factory.createFactoryWithoutProduct(1, 1));
+
+    Assertions.assertTrue(objects.contains(Mine.createMine(1, 1, MineSubType.OUTPUT_EAST)));
+    Assertions.assertTrue(
+        objects.contains(Conveyor.createConveyor(1, 1, ConveyorSubType.SHORT_OUTPUT_EAST)));
+    Assertions.assertTrue(objects.contains(Factory.createFactoryWithoutProduct(1, 1)));
+    Assertions.assertFalse(
+        objects.contains(Conveyor.createConveyor(1, 1, ConveyorSubType.LONG_OUTPUT_EAST)));
+  }
+}
@@ -0,0 +1,57 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlacementMasksTest {
+
+  private final Field field = new Field(20, 15);
+
+  @BeforeEach
+  public void init() throws CouldNotPlaceObjectException {
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 2, 2, 3, 3));
+    field.addBaseObject(Mine.createMine(6, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(10, 3, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Obstacle.createObstacle(14, 8, 3, 4));
+  }
+
+  @Test
+  public void legalPositionsMatchBaseObjectCanBePlaced() {
+    PlacementMasks masks = PlacementMasks.of(field);
+    Bitboard mines = masks.legalPositions(ShapeTemplate.ofMine(MineSubType.OUTPUT_SOUTH));
+    Bitboard conveyors = masks.legalPositions(
+        ShapeTemplate.ofConveyor(ConveyorSubType.LONG_OUTPUT_NORTH));
+    Bitboard factories = masks.legalPositions(ShapeTemplate.ofFactory());
+
+    for (int x = -5; x < field.getWidth() + 5; x++) {
+      for (int y = -5; y < field.getHeight() + 5; y++) {
+        Assertions.assertEquals(
+            field.baseObjectCanBePlaced(Mine.createMine(x, y, MineSubType.OUTPUT_SOUTH)),
+            mines.contains(x, y));
+        Assertions.assertEquals(field.baseObjectCanBePlaced(
+                Conveyor.createConveyor(x, y, ConveyorSubType.LONG_OUTPUT_NORTH)),
+            conveyors.contains(x, y));
+        Assertions.assertEquals(
+            field.baseObjectCanBePlaced(Factory.createFactoryWithoutProduct(x, y)),
+            factories.contains(x, y));
+        Assertions.assertEquals(factories.contains(x, y),
+            masks.canBePlaced(ShapeTemplate.ofFactory(), x, y));
+      }
+    }
+  }
+
+  @Test
+  public void conveyorCanOnlyCrossCrossableTiles() {
+    PlacementMasks masks = PlacementMasks.of(field);
+
+    Assertions.assertTrue(
+        masks.canBePlaced(ShapeTemplate.ofConveyor(ConveyorSubType.SHORT_OUTPUT_SOUTH), 10, 3));
+    Assertions.assertFalse(
+        masks.canBePlaced(ShapeTemplate.ofConveyor(ConveyorSubType.SHORT_OUTPUT_SOUTH), 11, 3));
+  }
+}
@@ -0,0 +1,50 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.ProductType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ResourceVectorTest {
+
+  @Test
+  public void countAndSubtractUnits() {
+    ResourceVector stored = ResourceVector.of(
+        Map.of(ResourceType.ZERO, 7, ResourceType.ONE, 9, ResourceType.TWO, 1));
+    ResourceVector recipe = ResourceVector.of(Map.of(ResourceType.ZERO, 2, ResourceType.ONE, 3));
+
+    Assertions.assertEquals(3, stored.countUnits(recipe));
+    stored.subtract(recipe, 3);
+    Assertions.assertEquals(ResourceVector.of(Map.of(ResourceType.ZERO, 1, ResourceType.TWO, 1)),
+        stored);
+    Assertions.assertEquals(0, stored.countUnits(recipe));
+    Assertions.assertEquals(Integer.MAX_VALUE, stored.countUnits(new ResourceVector()));
+  }
+
+  @Test
+  public void factoryProducesAllPossibleUnits() {
+    Factory factory = Factory.createFactoryWithProduct(0, 0,
+        new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 2, ResourceType.ONE, 0)));
+    ResourceVector stored = ResourceVector.of(ResourceType.ZERO, 5);
+
+    Assertions.assertEquals(20, factory.doWorkForPoints(stored));
+    Assertions.assertEquals(1, stored.get(ResourceType.ZERO));
+  }
+
+  @Test
+  public void neededResourcesOfProductAreReadOnly() {
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 2));
+    ResourceVector recipe = product.getNeededResources();
+
+    Assertions.assertSame(recipe, product.getNeededResources());
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> recipe.add(ResourceType.ZERO, 1));
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> recipe.subtract(recipe, 1));
+    ResourceVector copy = recipe.copy();
+    copy.add(ResourceType.ZERO, 1);
+    Assertions.assertEquals(3, copy.get(ResourceType.ZERO));
+    Assertions.assertEquals(2, recipe.get(ResourceType.ZERO));
+  }
+}
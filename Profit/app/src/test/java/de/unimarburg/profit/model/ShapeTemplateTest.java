@@ -0,0 +1,53 @@
+package de.unimarburg.profit.model;
+
+import de.unimarburg.profit.model.enums.CombinerSubType;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ShapeTemplateTest {
+
+  @Test
+  public void sharedTilesCannotBeModified() {
+    Mine mine = Mine.createMine(1, 2, MineSubType.OUTPUT_WEST);
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> mine.getShape().getTiles().set(0, mine.getShape().getTiles().get(1)));
+
+    Tile[] copy = mine.getTiles();
+    copy[0] = copy[1];
+    Assertions.assertArrayEquals(mine.getShape().getTiles().toArray(), mine.tiles());
+    Assertions.assertArrayEquals(mine.getTiles(), mine.tiles());
+  }
+
+  @Test
+  public void objectsOfTheSameSubtypeShareTheirShape() {
+    Assertions.assertSame(Mine.createMine(1, 2, MineSubType.OUTPUT_WEST).getShape(),
+        Mine.createMine(7, 3, MineSubType.OUTPUT_WEST).getShape());
+    Assertions.assertSame(
+        Conveyor.createConveyor(0, 0, ConveyorSubType.LONG_OUTPUT_EAST).getShape().getTiles(),
+        ShapeTemplate.ofConveyor(ConveyorSubType.LONG_OUTPUT_EAST).getTiles());
+    Assertions.assertSame(Combiner.createCombiner(4, 4, CombinerSubType.OUTPUT_NORTH).getShape(),
+        ShapeTemplate.ofCombiner(CombinerSubType.OUTPUT_NORTH));
+    Assertions.assertSame(Factory.createFactoryWithoutProduct(3, 3).getShape(),
+        ShapeTemplate.ofFactory());
+    Assertions.assertNotSame(Mine.createMine(1, 2, MineSubType.OUTPUT_WEST).getShape(),
+        Mine.createMine(1, 2, MineSubType.OUTPUT_EAST).getShape());
+  }
+
+  @Test
+  public void sharedShapesCanBePlacedOnSeveralFields() throws Exception {
+    Mine mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    Field first = new Field(20, 20);
+    Field second = new Field(20, 20);
+    first.addBaseObject(mine);
+    second.addBaseObject(Mine.createMine(10, 10, MineSubType.OUTPUT_EAST));
+
+    Assertions.assertEquals(mine, first.getObjectAt(5, 5).orElseThrow());
+    Assertions.assertTrue(second.getObjectAt(5, 5).isEmpty());
+    Assertions.assertTrue(
+        first.baseObjectCanBePlaced(ShapeTemplate.ofMine(MineSubType.OUTPUT_EAST), 10, 10));
+    Assertions.assertFalse(
+        second.baseObjectCanBePlaced(ShapeTemplate.ofMine(MineSubType.OUTPUT_EAST), 10, 10));
+  }
+}
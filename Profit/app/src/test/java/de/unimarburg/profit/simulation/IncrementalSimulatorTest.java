@@ -0,0 +1,113 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.Deposit;
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.MovableObject;
+import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.ProductType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import de.unimarburg.profit.model.exceptions.CouldNotRemoveObjectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IncrementalSimulatorTest {
+
+  @Test
+  public void addingAndRemovingComponents()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 3));
+    IncrementalSimulator simulator = new IncrementalSimulator(12);
+
+    Field field = new Field(25, 25);
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 11, 3, 3));
+    field.addBaseObject(Mine.createMine(4, 11, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 12, ConveyorSubType.LONG_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(12, 12, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(15, 12, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(18, 12, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(20, 10, product));
+    Assertions.assertEquals(60, simulator.simulate(field));
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 11, 0, 3, 3));
+    field.addBaseObject(Mine.createMine(12, 4, MineSubType.OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(12, 8, ConveyorSubType.LONG_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(12, 12, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(12, 15, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(12, 18, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    Factory factory = Factory.createFactoryWithProduct(10, 20, product);
+    field.addBaseObject(factory);
+    Assertions.assertEquals(Simulator.getInstance().simulate(field, 12),
+        simulator.simulate(field));
+    Assertions.assertEquals(120, simulator.simulate(field));
+
+    field.removeBaseObject(factory);
+    Assertions.assertEquals(60, simulator.simulate(field));
+
+    field.addBaseObject(factory);
+    Assertions.assertEquals(120, simulator.simulate(field));
+    factory.setProduct(new Product(20, ProductType.ZERO, Map.of(ResourceType.ZERO, 3)));
+    simulator.changed(factory);
+    Assertions.assertEquals(180, Simulator.getInstance().simulate(field, 12));
+    Assertions.assertEquals(180, simulator.simulate(field));
+  }
+
+  @Test
+  public void movesOnRandomFieldsEarnTheSamePointsAsTheWholeField()
+      throws CouldNotPlaceObjectException, CouldNotRemoveObjectException, SimulateException {
+
+    for (long seed = 0; seed < 60; seed++) {
+      Field field = RandomFields.create(seed);
+      Random random = new Random(seed);
+      int turns = 10 + random.nextInt(90);
+      IncrementalSimulator simulator = new IncrementalSimulator(turns);
+      List<MovableObject> removedObjects = new ArrayList<>();
+
+      for (int move = 0; move < 30; move++) {
+        List<MovableObject> placedObjects = new ArrayList<>(field.getMovableObjects());
+        List<MovableObject> addedObjects = new ArrayList<>();
+        List<MovableObject> takenObjects = new ArrayList<>();
+        if (!removedObjects.isEmpty() && random.nextBoolean()) {
+          MovableObject object = removedObjects.remove(random.nextInt(removedObjects.size()));
+          if (field.baseObjectCanBePlaced(object)) {
+            field.addBaseObject(object);
+            addedObjects.add(object);
+          }
+        } else {
+          for (int i = 0; i < 1 + random.nextInt(3) && !placedObjects.isEmpty(); i++) {
+            MovableObject object = placedObjects.remove(random.nextInt(placedObjects.size()));
+            field.removeBaseObject(object);
+            removedObjects.add(object);
+            takenObjects.add(object);
+          }
+        }
+        Assertions.assertEquals(Simulator.getInstance().simulate(field, turns),
+            simulator.simulate(field), "seed " + seed + ", move " + move);
+
+        if (random.nextInt(4) == 0) {
+          for (MovableObject object : addedObjects) {
+            field.removeBaseObject(object);
+            removedObjects.add(object);
+          }
+          for (MovableObject object : takenObjects) {
+            field.addBaseObject(object);
+            removedObjects.removeIf(removedObject -> removedObject == object);
+          }
+          Assertions.assertEquals(Simulator.getInstance().simulate(field, turns),
+              simulator.simulate(field), "seed " + seed + ", undone move " + move);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Combiner;
+import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.Deposit;
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.Obstacle;
+import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.Tile;
+import de.unimarburg.profit.model.enums.CombinerSubType;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.ProductType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.enums.TileType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Creates random {@link Field}s for tests, that compare two ways of simulating. Chains of a mine,
+ * some conveyors and combiners and a factory are grown from the deposits, so most fields contain
+ * components, that earn points. Chains often run into each other, so components share mines and
+ * factories.
+ */
+final class RandomFields {
+
+  private static final int[] NEIGHBOR_X = {1, -1, 0, 0};
+  private static final int[] NEIGHBOR_Y = {0, 0, 1, -1};
+  private static final int PLACE_TRIES = 20;
+  private static final int MAX_CHAIN_LENGTH = 6;
+
+  private RandomFields() {
+  }
+
+  /**
+   * Creates a random {@link Field}. The same seed always creates the same {@link Field}.
+   *
+   * @param seed Seed of the random numbers.
+   * @return New {@link Field}.
+   */
+  static Field create(long seed) {
+    Random random = new Random(seed);
+    int width = 20 + random.nextInt(30);
+    int height = 20 + random.nextInt(30);
+    Field field = new Field(width, height);
+
+    for (int i = 0; i < 3 + random.nextInt(6); i++) {
+      tryToAdd(field, Deposit.createDeposit(randomOf(ResourceType.values(), random),
+          random.nextInt(width), random.nextInt(height), 1 + random.nextInt(5),
+          1 + random.nextInt(5)));
+    }
+    for (int i = 0; i < random.nextInt(4); i++) {
+      tryToAdd(field, Obstacle.createObstacle(random.nextInt(width), random.nextInt(height),
+          1 + random.nextInt(6), 1 + random.nextInt(6)));
+    }
+
+    List<Deposit> deposits = new ArrayList<>(field.getObjectsOfClass(Deposit.class));
+    if (deposits.isEmpty()) {
+      return field;
+    }
+    // Products need the resources of the deposits, so factories can produce them.
+    List<ResourceType> resources = deposits.stream().map(Deposit::getResourceType).toList();
+    List<Product> products = new ArrayList<>();
+    for (int i = 0; i < 1 + random.nextInt(3); i++) {
+      products.add(randomProduct(ProductType.values()[i], resources, random));
+    }
+
+    for (int chain = 0; chain < 10 + random.nextInt(20); chain++) {
+      growChain(field, deposits.get(random.nextInt(deposits.size())), products, random);
+    }
+    return field;
+  }
+
+  /**
+   * Creates a random {@link Product}, that needs one or two of the given resources.
+   *
+   * @param type      Type of the {@link Product}.
+   * @param resources Resources, that the {@link Product} may need.
+   * @param random    Source of the random numbers.
+   * @return New {@link Product}.
+   */
+  static Product randomProduct(ProductType type, List<ResourceType> resources, Random random) {
+    Map<ResourceType, Integer> neededResources = new EnumMap<>(ResourceType.class);
+    neededResources.put(resources.get(random.nextInt(resources.size())), 1 + random.nextInt(4));
+    if (random.nextInt(3) == 0) {
+      neededResources.put(resources.get(random.nextInt(resources.size())), 1 + random.nextInt(4));
+    }
+    return new Product(1 + random.nextInt(20), type, neededResources);
+  }
+
+  // Places a mine at the deposit and attaches conveyors, combiners and finally a factory to it.
+  private static void growChain(Field field, Deposit deposit, List<Product> products,
+      Random random) {
+    MineSubType mineType = randomOf(MineSubType.values(), random);
+    BaseObject last = attach(field, deposit, TileType.DEPOSIT_OUTPUT, TileType.MINE_INPUT,
+        (x, y) -> Mine.createMine(x, y, mineType), random);
+
+    int length = random.nextInt(MAX_CHAIN_LENGTH + 1);
+    for (int i = 0; i < length && last != null; i++) {
+      if (random.nextInt(4) == 0) {
+        CombinerSubType combinerType = randomOf(CombinerSubType.values(), random);
+        last = attach(field, last, TileType.OUTPUT, TileType.INPUT,
+            (x, y) -> Combiner.createCombiner(x, y, combinerType), random);
+      } else {
+        ConveyorSubType conveyorType = randomOf(ConveyorSubType.values(), random);
+        last = attach(field, last, TileType.OUTPUT, TileType.INPUT,
+            (x, y) -> Conveyor.createConveyor(x, y, conveyorType), random);
+      }
+    }
+    if (last != null) {
+      Product product = products.get(random.nextInt(products.size()));
+      attach(field, last, TileType.OUTPUT, TileType.INPUT,
+          (x, y) -> Factory.createFactoryWithProduct(x, y, product), random);
+    }
+  }
+
+  /**
+   * Tries to place a new object, so that one of its tiles of the input type is next to one of the
+   * tiles of the output type of the given object.
+   *
+   * @return Placed object, null if no try succeeded.
+   */
+  private static BaseObject attach(Field field, BaseObject giver, TileType outputType,
+      TileType inputType, BiFunction<Integer, Integer, BaseObject> create, Random random) {
+    List<Tile> outputs = tilesOfType(giver, outputType);
+    List<Tile> inputs = tilesOfType(create.apply(0, 0), inputType);
+    if (outputs.isEmpty() || inputs.isEmpty()) {
+      return null;
+    }
+    for (int i = 0; i < PLACE_TRIES; i++) {
+      Tile output = outputs.get(random.nextInt(outputs.size()));
+      Tile input = inputs.get(random.nextInt(inputs.size()));
+      int d = random.nextInt(NEIGHBOR_X.length);
+      int x = giver.getX() + output.getRelHorPos() + NEIGHBOR_X[d] - input.getRelHorPos();
+      int y = giver.getY() + output.getRelVerPos() + NEIGHBOR_Y[d] - input.getRelVerPos();
+      BaseObject object = create.apply(x, y);
+      if (tryToAdd(field, object)) {
+        return object;
+      }
+    }
+    return null;
+  }
+
+  private static List<Tile> tilesOfType(BaseObject object, TileType type) {
+    List<Tile> tiles = new ArrayList<>();
+    for (Tile tile : object.getTiles()) {
+      if (tile.getType() == type) {
+        tiles.add(tile);
+      }
+    }
+    return tiles;
+  }
+
+  private static boolean tryToAdd(Field field, BaseObject object) {
+    if (!field.baseObjectCanBePlaced(object)) {
+      return false;
+    }
+    try {
+      field.addBaseObject(object);
+      return true;
+    } catch (CouldNotPlaceObjectException e) {
+      return false;
+    }
+  }
+
+  private static <T> T randomOf(T[] values, Random random) {
+    return values[random.nextInt(values.length)];
+  }
+}
@@ -0,0 +1,83 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.concurrent.Deadline;
+import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.Deposit;
+import de.unimarburg.profit.model.Factory;
+import de.unimarburg.profit.model.Field;
+import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.Product;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import de.unimarburg.profit.model.enums.ProductType;
+import de.unimarburg.profit.model.enums.ResourceType;
+import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ScoreCacheTest {
+
+  private final Product product = new Product(10, ProductType.ZERO,
+      Map.of(ResourceType.ZERO, 1));
+
+  private Field createField(Factory factory) throws CouldNotPlaceObjectException {
+    Field field = new Field(20, 20);
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(factory);
+    return field;
+  }
+
+  @Test
+  public void cachedPointsMatchSimulation()
+      throws CouldNotPlaceObjectException, SimulateException {
+    ScoreCache cache = new ScoreCache(64);
+    Field field = createField(Factory.createFactoryWithProduct(13, 0, product));
+    Field sameLayout = createField(Factory.createFactoryWithProduct(13, 0, product));
+    Field emptyField = new Field(20, 20);
+
+    Assertions.assertFalse(cache.contains(field, 10));
+    int[] points = cache.simulateAll(List.of(field, emptyField, sameLayout), 10);
+    Assertions.assertArrayEquals(new int[]{360, 0, 360}, points);
+    Assertions.assertTrue(cache.contains(sameLayout, 10));
+    Assertions.assertFalse(cache.contains(field, 11));
+    Assertions.assertEquals(Simulator.getInstance().simulate(field, 11),
+        cache.simulate(field, 11));
+  }
+
+  @Test
+  public void productIsPartOfTheKey() throws CouldNotPlaceObjectException, SimulateException {
+    ScoreCache cache = new ScoreCache(64);
+    Factory factory = Factory.createFactoryWithoutProduct(13, 0);
+    Field field = createField(factory);
+
+    Assertions.assertEquals(0, cache.simulate(field, 10));
+    factory.setProduct(product);
+    Assertions.assertFalse(cache.contains(field, 10));
+    Assertions.assertEquals(360, cache.simulate(field, 10));
+  }
+
+  @Test
+  public void fieldsNotSimulatedBeforeDeadlineAreNotCached()
+      throws CouldNotPlaceObjectException, SimulateException {
+    ScoreCache cache = new ScoreCache(64);
+    Field field = createField(Factory.createFactoryWithProduct(13, 0, product));
+    Field otherProduct = createField(Factory.createFactoryWithProduct(13, 0,
+        new Product(20, ProductType.ZERO, Map.of(ResourceType.ZERO, 1))));
+    Assertions.assertEquals(360, cache.simulate(field, 10));
+
+    Deadline deadline = Deadline.never();
+    deadline.cancel();
+    int[] points = cache.simulateAll(List.of(field, otherProduct), 10, -1, deadline, false);
+    Assertions.assertArrayEquals(new int[]{360, Simulator.NOT_SIMULATED}, points);
+    Assertions.assertFalse(cache.contains(otherProduct, 10));
+
+    points = cache.simulateAll(List.of(otherProduct), 10, -1, Deadline.never(), false);
+    Assertions.assertArrayEquals(new int[]{720}, points);
+  }
+}
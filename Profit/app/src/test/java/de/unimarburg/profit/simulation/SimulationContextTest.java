@@ -0,0 +1,66 @@
+package de.unimarburg.profit.simulation;
+
+import de.unimarburg.profit.model.BaseObject;
+import de.unimarburg.profit.model.Conveyor;
+import de.unimarburg.profit.model.Mine;
+import de.unimarburg.profit.model.enums.ConveyorSubType;
+import de.unimarburg.profit.model.enums.MineSubType;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SimulationContextTest {
+
+  @Test
+  public void equalObjectsAreIndexedByIdentity() {
+    SimulationContext context = new SimulationContext();
+    Mine mine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    Mine equalMine = Mine.createMine(5, 5, MineSubType.OUTPUT_EAST);
+    Assertions.assertEquals(mine, equalMine);
+
+    context.index(List.of(mine, equalMine), 2);
+    Assertions.assertEquals(0, context.indexOf(mine));
+    Assertions.assertEquals(1, context.indexOf(equalMine));
+    Assertions.assertEquals(-1, context.indexOf(Mine.createMine(5, 5, MineSubType.OUTPUT_EAST)));
+  }
+
+  @Test
+  public void allObjectsAreFoundAlthoughTheirSlotsCollide() {
+    SimulationContext context = new SimulationContext();
+    // The index has at most twice as many slots as objects, so some objects share a slot.
+    for (int count : new int[]{1, 7, 100, 1000, 2000}) {
+      List<BaseObject> objects = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        objects.add(Conveyor.createConveyor(i, i, ConveyorSubType.SHORT_OUTPUT_EAST));
+      }
+
+      BaseObject[] buffer = context.index(objects, count);
+      for (int i = 0; i < count; i++) {
+        Assertions.assertSame(objects.get(i), buffer[i]);
+        Assertions.assertEquals(i, context.indexOf(objects.get(i)));
+      }
+      Assertions.assertEquals(-1,
+          context.indexOf(Conveyor.createConveyor(0, 0, ConveyorSubType.SHORT_OUTPUT_EAST)));
+      context.release(count);
+    }
+  }
+
+  @Test
+  public void releasedObjectsAreNotFoundAnymore() {
+    SimulationContext context = new SimulationContext();
+    Mine first = Mine.createMine(1, 1, MineSubType.OUTPUT_EAST);
+    Mine second = Mine.createMine(8, 1, MineSubType.OUTPUT_EAST);
+    BaseObject[] buffer = context.index(List.of(first, second), 2);
+
+    context.release(2);
+    Assertions.assertNull(buffer[0]);
+    Assertions.assertNull(buffer[1]);
+    Assertions.assertEquals(-1, context.indexOf(first));
+    Assertions.assertEquals(-1, context.indexOf(second));
+
+    context.index(List.of(second), 1);
+    Assertions.assertEquals(0, context.indexOf(second));
+    Assertions.assertEquals(-1, context.indexOf(first));
+  }
+}
@@ -1,5 +1,6 @@
 package de.unimarburg.profit.simulation;
 
+import de.unimarburg.profit.concurrent.Deadline;
 import de.unimarburg.profit.model.Combiner;
 import de.unimarburg.profit.model.Conveyor;
 import de.unimarburg.profit.model.Deposit;
@@ -13,13 +14,50 @@ import de.unimarburg.profit.model.enums.MineSubType;
 import de.unimarburg.profit.model.enums.ProductType;
 import de.unimarburg.profit.model.enums.ResourceType;
 import de.unimarburg.profit.model.exceptions.CouldNotPlaceObjectException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 class SimulatorTest {
 
+  /**
+   * Points of the fields of test1 to test5 for 0 to 60 turns, as simulated by the object based
+   * simulator before fields were compiled.
+   */
+  private static final int[][] BASELINE_POINTS = {
+      {0, 0, 0, 0, 0, 60, 120, 180, 240, 300, 360, 420, 480, 540, 600, 660, 720, 780, 800, 800, 800,
+       800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800,
+       800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800, 800,
+       800, 800, 800, 800},
+      {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 20, 30, 40, 50, 60, 60, 70, 70, 80, 90, 90, 90, 90, 90, 90,
+       90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90,
+       90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90, 90},
+      {0, 0, 0, 0, 0, 0, 0, 24, 58, 82, 116, 150, 174, 208, 232, 266, 300, 324, 358, 382, 416, 450,
+       474, 508, 532, 566, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600,
+       600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600, 600,
+       600, 600, 600},
+      {0, 0, 0, 0, 0, 0, 0, 20, 40, 60, 80, 100, 120, 140, 160, 180, 200, 220, 240, 260, 280, 300,
+       300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300,
+       300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300, 300,
+       300, 300, 300},
+      {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 20, 30, 40, 50, 60, 70, 80, 90, 100, 110, 120, 130,
+       140, 150, 160, 170, 180, 190, 200, 210, 220, 230, 240, 250, 260, 270, 280, 290, 300, 310,
+       320, 330, 340, 350, 360, 370, 380, 390, 400, 410, 410, 410, 410, 410, 410, 410, 410, 410}
+  };
+
+  private static int[] pointsPerTurns(Field field) throws SimulateException {
+    int[] points = new int[BASELINE_POINTS[0].length];
+    for (int turns = 0; turns < points.length; turns++) {
+      points[turns] = Simulator.getInstance().simulate(field, turns);
+    }
+    return points;
+  }
+
 
   @Test
   public void test1() throws CouldNotPlaceObjectException, SimulateException {
@@ -37,6 +75,7 @@ class SimulatorTest {
 
     int points = Simulator.getInstance().simulate(field, 10);
     Assertions.assertEquals(points, 360);
+    Assertions.assertArrayEquals(BASELINE_POINTS[0], pointsPerTurns(field));
   }
 
   @Test
@@ -62,6 +101,7 @@ class SimulatorTest {
 
     int points = Simulator.getInstance().simulate(field, 15);
     Assertions.assertEquals(points, 60);
+    Assertions.assertArrayEquals(BASELINE_POINTS[1], pointsPerTurns(field));
   }
 
   @Test
@@ -111,6 +151,27 @@ class SimulatorTest {
 
     int points = Simulator.getInstance().simulate(field, 16);
     Assertions.assertEquals(points, 300);
+    Assertions.assertArrayEquals(BASELINE_POINTS[2], pointsPerTurns(field));
+  }
+
+
+  @Test
+  public void ownersAreFoundInFieldsWithManyObjects()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 200);
+    for (int y = 0; y < 200; y += 10) {
+      field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, y, 4, 4));
+      field.addBaseObject(Mine.createMine(5, y, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Mine.createMine(5, y + 2, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(8, y + 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(11, y + 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Factory.createFactoryWithProduct(13, y, product));
+    }
+
+    Assertions.assertEquals(20 * 360, Simulator.getInstance().simulate(field, 10));
   }
 
 
@@ -139,6 +200,7 @@ class SimulatorTest {
 
     int points = Simulator.getInstance().simulate(field, 12);
     Assertions.assertEquals(points, 120);
+    Assertions.assertArrayEquals(BASELINE_POINTS[3], pointsPerTurns(field));
 
   }
 
@@ -175,7 +237,294 @@ class SimulatorTest {
     field.addBaseObject(Conveyor.createConveyor(15,17, ConveyorSubType.LONG_OUTPUT_EAST));
 
     Assertions.assertEquals(390, Simulator.getInstance().simulate(field, 50));
+    Assertions.assertArrayEquals(BASELINE_POINTS[4], pointsPerTurns(field));
+
+  }
+
+
+  @Test
+  public void drainedFieldIsSimulatedInClosedForm()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 20);
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(13, 0, product));
+
+    Assertions.assertEquals(800, Simulator.getInstance().simulate(field, Integer.MAX_VALUE));
+  }
+
+
+  @Test
+  public void fastForwardMatchesTurnByTurnSimulation()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(7, ProductType.ZERO,
+        Map.of(ResourceType.ZERO, 2, ResourceType.ONE, 5));
 
+    Field field = new Field(40, 20);
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 2, 1, 3, 3));
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ONE, 2, 16, 3, 3));
+    field.addBaseObject(Mine.createMine(6, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(6, 15, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Combiner.createCombiner(10, 16, CombinerSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(9, 4, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(9, 7, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(9, 10, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(9, 13, ConveyorSubType.SHORT_OUTPUT_SOUTH));
+    field.addBaseObject(Conveyor.createConveyor(13, 16, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(16, 16, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(18, 14, product));
+
+    SimulationContext context = new SimulationContext();
+    CompiledField compiledField = CompiledField.compile(field, context);
+    for (int turns = 0; turns <= 300; turns++) {
+      Assertions.assertEquals(compiledField.run(turns, false, context),
+          compiledField.run(turns, true, context));
+    }
   }
 
-}
\ No newline at end of file
+
+  @Test
+  public void simulateAllKeepsInputOrder() throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 20);
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(13, 0, product));
+
+    Field emptyField = new Field(20, 20);
+
+    int[] points = Simulator.getInstance()
+        .simulateAll(List.of(field, emptyField, field, emptyField, field), 10);
+    Assertions.assertArrayEquals(new int[]{360, 0, 360, 0, 360}, points);
+  }
+
+
+  @Test
+  public void upperBoundIsNotBelowPoints() throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 20);
+
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(13, 0, product));
+
+    // The factory is not connected yet.
+    Assertions.assertEquals(0, Simulator.getInstance().estimateUpperBound(field, 10));
+
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+
+    for (int turns = 0; turns <= 30; turns++) {
+      int points = Simulator.getInstance().simulate(field, turns);
+      Assertions.assertTrue(Simulator.getInstance().estimateUpperBound(field, turns) >= points);
+    }
+    Assertions.assertEquals(800, Simulator.getInstance().estimateUpperBound(field, 1000));
+  }
+
+  @Test
+  public void simulateAllLeavesOutFieldsBelowMinimum()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 20);
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(13, 0, product));
+    Field emptyField = new Field(20, 20);
+
+    int bound = (int) Simulator.getInstance().estimateUpperBound(field, 10);
+    Assertions.assertArrayEquals(new int[]{360, Simulator.NOT_SIMULATED},
+        Simulator.getInstance().simulateAll(List.of(field, emptyField), 10, bound - 1,
+            Deadline.never(), false));
+    Assertions.assertArrayEquals(new int[]{Simulator.NOT_SIMULATED, Simulator.NOT_SIMULATED},
+        Simulator.getInstance().simulateAll(List.of(field, emptyField), 10, bound,
+            Deadline.never(), false));
+  }
+
+  @Test
+  public void independentNetworksAreSummedUp()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+    Product unreachableProduct = new Product(10, ProductType.ONE, Map.of(ResourceType.ONE, 1));
+
+    Field field = new Field(20, 100);
+    for (int y = 0; y < 100; y += 20) {
+      field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, y, 4, 4));
+      field.addBaseObject(Mine.createMine(5, y, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Mine.createMine(5, y + 2, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(8, y + 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(11, y + 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Factory.createFactoryWithProduct(13, y,
+          y < 80 ? product : unreachableProduct));
+    }
+
+    Assertions.assertEquals(4 * 360, Simulator.getInstance().simulate(field, 10));
+    Assertions.assertEquals(4 * 360, Simulator.getInstance().simulate(field, 10, false));
+    Assertions.assertEquals(4 * 360, new IncrementalSimulator(10).simulate(field));
+  }
+
+  @Test
+  public void componentsOfRandomFieldsEarnTheSamePointsAsTheWholeField()
+      throws SimulateException {
+
+    SimulationContext context = new SimulationContext();
+    int fieldsWithPoints = 0;
+    for (long seed = 0; seed < 200; seed++) {
+      Field field = RandomFields.create(seed);
+      int turns = 1 + new Random(seed).nextInt(150);
+
+      // The whole field as one component, every turn simulated one by one.
+      CompiledField compiled = CompiledField.compile(field, context);
+      int points = compiled.run(turns, false, context);
+      int componentPoints = 0;
+      for (CompiledField component : compiled.components()) {
+        componentPoints += component.run(turns, false, context);
+      }
+
+      Assertions.assertEquals(points, componentPoints, "seed " + seed);
+      Assertions.assertEquals(points, Simulator.getInstance().simulate(field, turns),
+          "seed " + seed);
+      if (points > 0) {
+        fieldsWithPoints++;
+      }
+    }
+    Assertions.assertTrue(fieldsWithPoints >= 40, "only " + fieldsWithPoints + " fields score");
+  }
+
+  @Test
+  public void fieldsWithSameNetworkAreSimulatedTogether()
+      throws CouldNotPlaceObjectException, SimulateException {
+
+    List<Field> fields = new ArrayList<>();
+    for (int needed = 1; needed <= 6; needed++) {
+      Field field = new Field(20, 20);
+      field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+      field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Mine.createMine(5, 2, MineSubType.OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+      field.addBaseObject(Factory.createFactoryWithProduct(13, 0,
+          new Product(needed, ProductType.ZERO, Map.of(ResourceType.ZERO, needed))));
+      fields.add(field);
+    }
+
+    int[] points = Simulator.getInstance().simulateAll(fields, 30);
+    for (int i = 0; i < fields.size(); i++) {
+      Assertions.assertEquals(Simulator.getInstance().simulate(fields.get(i), 30), points[i]);
+    }
+  }
+
+  @Test
+  public void lanesEarnTheSamePointsAsSingleRuns() throws SimulateException {
+
+    SimulationContext context = new SimulationContext();
+    int lanesWithPoints = 0;
+    for (long seed = 0; seed < 60; seed++) {
+      Random random = new Random(seed);
+      int turns = 1 + random.nextInt(150);
+
+      // Every variant is the same field with other products, so their components share topology.
+      List<List<CompiledField>> variants = new ArrayList<>();
+      for (int v = 0; v < 1 + random.nextInt(20); v++) {
+        Field field = RandomFields.create(seed);
+        List<ResourceType> resources = field.getObjectsOfClass(Deposit.class).stream()
+            .map(Deposit::getResourceType).toList();
+        for (Factory factory : field.getObjectsOfClass(Factory.class)) {
+          factory.setProduct(RandomFields.randomProduct(ProductType.ZERO, resources, random));
+        }
+        variants.add(CompiledField.compile(field, context).components());
+      }
+
+      for (int c = 0; c < variants.get(0).size(); c++) {
+        List<CompiledField> lanes = new ArrayList<>();
+        for (List<CompiledField> components : variants) {
+          Assertions.assertTrue(components.get(c).hasSameTopology(variants.get(0).get(c)));
+          lanes.add(components.get(c));
+        }
+        int[] points = CompiledField.runLanes(lanes, turns);
+        Assertions.assertEquals(lanes.size(), points.length);
+        for (int l = 0; l < lanes.size(); l++) {
+          Assertions.assertEquals(lanes.get(l).run(turns, false, context), points[l],
+              "seed " + seed + ", component " + c + ", lane " + l);
+          if (points[l] > 0) {
+            lanesWithPoints++;
+          }
+        }
+      }
+    }
+    Assertions.assertTrue(lanesWithPoints >= 100, "only " + lanesWithPoints + " lanes score");
+  }
+
+  @Test
+  public void tracedSimulationOfRandomFieldsEarnsSamePoints()
+      throws SimulateException, IOException {
+
+    FlowTrace trace = new FlowTrace(1 << 15);
+    for (long seed = 0; seed < 100; seed++) {
+      Field field = RandomFields.create(seed);
+      int turns = 1 + new Random(seed).nextInt(150);
+
+      int points = Simulator.getInstance().simulate(field, turns, trace);
+      Assertions.assertEquals(Simulator.getInstance().simulate(field, turns), points,
+          "seed " + seed);
+
+      // All entries are kept, so the points of the entries add up to the points of the field.
+      Assertions.assertEquals(trace.getRecordedEntries(), trace.size(), "seed " + seed);
+      StringBuilder csv = new StringBuilder();
+      trace.writeCsv(csv);
+      int tracedPoints = csv.toString().lines().skip(1)
+          .mapToInt(line -> Integer.parseInt(line.substring(line.lastIndexOf(',') + 1))).sum();
+      Assertions.assertEquals(points, tracedPoints, "seed " + seed);
+    }
+  }
+
+  @Test
+  public void tracedSimulationEarnsSamePoints()
+      throws CouldNotPlaceObjectException, SimulateException, IOException {
+
+    Product product = new Product(10, ProductType.ZERO, Map.of(ResourceType.ZERO, 1));
+
+    Field field = new Field(20, 20);
+    field.addBaseObject(Deposit.createDeposit(ResourceType.ZERO, 0, 0, 4, 4));
+    field.addBaseObject(Mine.createMine(5, 0, MineSubType.OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(8, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Conveyor.createConveyor(11, 2, ConveyorSubType.SHORT_OUTPUT_EAST));
+    field.addBaseObject(Factory.createFactoryWithProduct(13, 0, product));
+
+    FlowTrace trace = new FlowTrace(8);
+    Assertions.assertEquals(Simulator.getInstance().simulate(field, 10),
+        Simulator.getInstance().simulate(field, 10, trace));
+    Assertions.assertEquals(8, trace.size());
+    Assertions.assertTrue(trace.getRecordedEntries() > 8);
+
+    StringBuilder csv = new StringBuilder();
+    trace.writeCsv(csv);
+    String[] lines = csv.toString().split("\n");
+    Assertions.assertEquals("turn,object,type,x,y,in,out,stored,points", lines[0]);
+    Assertions.assertEquals(9, lines.length);
+    Assertions.assertTrue(lines[8].startsWith("9,"));
+  }
+}